@@ -0,0 +1,10 @@
+#!/bin/bash
+# Se ejecuta solo al crear el volumen de la primaria (docker-entrypoint-initdb.d):
+# crea el usuario de replicación y le permite conectarse en modo replication.
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<-EOSQL
+    CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator';
+EOSQL
+
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,54 @@
+package dev.layla.notesapi;
+
+import dev.layla.notesapi.note.Note;
+import dev.layla.notesapi.note.dto.NoteResponse;
+import dev.layla.notesapi.user.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos de entrada de los benchmarks, parecidos a los de una petición real.
+ * Los ids los asignaría Hibernate; aquí se fijan por reflexión.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String JWT_SECRET = "MiClaveSecretaSuperSeguraParaJWTQueDebeTenerAlMenos256Bits!";
+    public static final long JWT_EXPIRATION = 86_400_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user() {
+        User user = new User("Bench User", "bench@example.com", "$2a$10$hash");
+        ReflectionTestUtils.setField(user, "id", 42L);
+        return user;
+    }
+
+    public static Note note(long id, User owner, int contentLength) {
+        Note note = new Note("Note title " + id, text(contentLength), owner);
+        ReflectionTestUtils.setField(note, "id", id);
+        return note;
+    }
+
+    public static List<NoteResponse> noteResponses(int count, int contentLength) {
+        List<NoteResponse> responses = new ArrayList<>(count);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 30);
+        for (long id = 1; id <= count; id++) {
+            responses.add(new NoteResponse(id, "Note title " + id, text(contentLength), createdAt.plusMinutes(id),
+                    id % 5 == 0, createdAt.plusMinutes(id), 0));
+        }
+        return responses;
+    }
+
+    public static String text(int length) {
+        String words = "Spring Boot notes api with jwt security and postgres ";
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append(words);
+        }
+        return text.substring(0, length);
+    }
+}
@@ -0,0 +1,65 @@
+package dev.layla.notesapi.auth;
+
+import dev.layla.notesapi.BenchmarkFixtures;
+import dev.layla.notesapi.user.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de JwtService por petición: emitir un token (login/registro) y
+ * validarlo (cada petición autenticada).
+ *
+ * extractUsername e isTokenValid repiten el mismo token, así que miden el
+ * camino con la caché de claims caliente; verifySignature mide lo que paga
+ * un fallo de caché (parsear y verificar la firma HMAC).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(BenchmarkFixtures.JWT_SECRET, BenchmarkFixtures.JWT_EXPIRATION,
+                10_000, new SimpleMeterRegistry());
+        parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(BenchmarkFixtures.JWT_SECRET.getBytes()))
+                .build();
+        user = BenchmarkFixtures.user();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public Claims verifySignature() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,64 @@
+package dev.layla.notesapi.common;
+
+import dev.layla.notesapi.note.dto.CreateNoteRequest;
+import dev.layla.notesapi.note.exception.NoteNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de una respuesta de error: crear la excepción (incluido rellenar el
+ * stack trace) y construir el cuerpo en GlobalExceptionHandler.
+ * handleOnly separa la parte del handler de la de la excepción.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private NoteNotFoundException notFound;
+    private MethodArgumentNotValidException invalidRequest;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        notFound = new NoteNotFoundException(42L);
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(
+                new CreateNoteRequest("", null), "createNoteRequest");
+        bindingResult.addError(new FieldError("createNoteRequest", "title", "title is required"));
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("create", CreateNoteRequest.class), 0);
+        invalidRequest = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<GlobalExceptionHandler.ApiError> notFound() {
+        return handler.handleNoteNotFound(new NoteNotFoundException(42L));
+    }
+
+    @Benchmark
+    public ResponseEntity<GlobalExceptionHandler.ApiError> notFoundHandleOnly() {
+        return handler.handleNoteNotFound(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<GlobalExceptionHandler.ValidationError> validationFailedHandleOnly() {
+        return handler.handleValidationErrors(invalidRequest);
+    }
+
+    /**
+     * Firma de referencia para el MethodParameter de la excepción de validación.
+     */
+    @SuppressWarnings("unused")
+    private void create(CreateNoteRequest request) {
+    }
+}
@@ -0,0 +1,60 @@
+package dev.layla.notesapi.note;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.layla.notesapi.BenchmarkFixtures;
+import dev.layla.notesapi.note.dto.NoteResponse;
+import dev.layla.notesapi.note.dto.NoteSummaryResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de serializar una página de notas a JSON, como hace el
+ * MappingJackson2HttpMessageConverter al responder a GET /notes.
+ * El ObjectMapper se construye igual que el de Spring Boot (JavaTimeModule,
+ * fechas ISO-8601).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotePageSerializationBenchmark {
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    @Param({"200", "2000"})
+    public int contentLength;
+
+    private ObjectMapper objectMapper;
+    private Page<NoteResponse> notes;
+    private Page<NoteSummaryResponse> summaries;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        PageRequest pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        notes = new PageImpl<>(BenchmarkFixtures.noteResponses(pageSize, contentLength), pageable, 1_000);
+        summaries = notes.map(note -> new NoteSummaryResponse(note.id(), note.title(),
+                note.content().substring(0, Math.min(200, note.content().length())), note.createdAt(), note.archived(),
+                note.version()));
+    }
+
+    @Benchmark
+    public byte[] serializeNotePage() throws Exception {
+        return objectMapper.writeValueAsBytes(notes);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPage() throws Exception {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
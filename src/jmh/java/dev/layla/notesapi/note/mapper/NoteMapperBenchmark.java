@@ -0,0 +1,46 @@
+package dev.layla.notesapi.note.mapper;
+
+import dev.layla.notesapi.BenchmarkFixtures;
+import dev.layla.notesapi.note.Note;
+import dev.layla.notesapi.note.NoteSummary;
+import dev.layla.notesapi.note.dto.NoteResponse;
+import dev.layla.notesapi.note.dto.NoteSummaryResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de mapear una entidad (o una proyección) al DTO de respuesta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteMapperBenchmark {
+
+    private static final int EXCERPT_LENGTH = 200;
+
+    private final NoteMapper noteMapper = new NoteMapper();
+    private Note note;
+    private NoteSummary summary;
+
+    @Setup
+    public void setUp() {
+        note = BenchmarkFixtures.note(1L, BenchmarkFixtures.user(), 2_000);
+        summary = new NoteSummary(1L, "Note title", BenchmarkFixtures.text(EXCERPT_LENGTH + 1),
+                LocalDateTime.of(2024, 5, 1, 10, 30), false, 0);
+    }
+
+    @Benchmark
+    public NoteResponse toResponse() {
+        return noteMapper.toResponse(note);
+    }
+
+    @Benchmark
+    public NoteSummaryResponse toSummaryResponse() {
+        return noteMapper.toSummaryResponse(summary, EXCERPT_LENGTH);
+    }
+}
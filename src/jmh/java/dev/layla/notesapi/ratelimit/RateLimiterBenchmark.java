@@ -0,0 +1,45 @@
+package dev.layla.notesapi.ratelimit;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste del límite de peticiones por petición: un get del mapa y un CAS.
+ *
+ * - sameKey: todos los hilos sobre el mismo usuario (máxima contención del CAS).
+ * - spreadKeys: claves repartidas entre {@code users} usuarios, el caso normal.
+ *
+ * Con -t (hilos JMH) se ve cómo escala; ejecutar con
+ * {@code -Djmh.args="RateLimiterBenchmark -t 4"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"10000"})
+    public int users;
+
+    private GcraLimiter<Object> limiter;
+
+    @Setup
+    public void setUp() {
+        // Límite alto: se mide el camino de una petición aceptada
+        limiter = new GcraLimiter<>(1_000_000_000, 1_000_000);
+    }
+
+    @Benchmark
+    public long sameKey() {
+        return limiter.tryAcquire(1L, System.nanoTime());
+    }
+
+    @Benchmark
+    public long spreadKeys() {
+        return limiter.tryAcquire((long) ThreadLocalRandom.current().nextInt(users), System.nanoTime());
+    }
+}
@@ -0,0 +1,63 @@
+package dev.layla.notesapi.loadtest;
+
+import dev.layla.notesapi.NotesApiApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * La aplicación completa arrancada en este proceso, sobre H2 en memoria
+ * (perfil dev) y en un puerto libre. Las propiedades se pasan como argumentos
+ * de línea de comandos para que tengan prioridad sobre application-*.properties.
+ */
+final class EmbeddedApp implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedApp(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * @param name       Nombre de la base H2 (una distinta por arranque)
+     * @param properties Propiedades extra, p. ej. spring.threads.virtual.enabled
+     */
+    static EmbeddedApp start(String name, Map<String, Object> properties) {
+        Map<String, Object> all = new LinkedHashMap<>();
+        all.put("spring.profiles.active", "dev");
+        all.put("server.port", 0);
+        all.put("spring.datasource.url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        all.put("spring.jpa.show-sql", false);
+        all.put("spring.h2.console.enabled", false);
+        all.put("logging.level.root", "WARN");
+        // Se mide la aplicación, no el límite de peticiones (se puede activar con properties)
+        all.put("rate-limit.enabled", false);
+        all.put("load-shedding.enabled", false);
+        all.putAll(properties);
+
+        String[] args = all.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+
+        return new EmbeddedApp(new SpringApplicationBuilder(NotesApiApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run(args));
+    }
+
+    URI baseUri() {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,78 @@
+package dev.layla.notesapi.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Un cliente concurrente: su usuario sembrado, su generador aleatorio y un
+ * HttpClient compartido (conexiones keep-alive reutilizadas).
+ */
+final class LoadClient {
+
+    private final HttpClient http;
+    private final URI baseUri;
+    private final SeededUser user;
+    private final Random random;
+
+    /**
+     * Notas creadas por este cliente y aún sin borrar (solo las usa su hilo).
+     */
+    private final Deque<Long> createdNotes = new ArrayDeque<>();
+
+    LoadClient(HttpClient http, URI baseUri, SeededUser user, long seed) {
+        this.http = http;
+        this.baseUri = baseUri;
+        this.user = user;
+        this.random = new Random(seed);
+    }
+
+    SeededUser user() {
+        return user;
+    }
+
+    Random random() {
+        return random;
+    }
+
+    Deque<Long> createdNotes() {
+        return createdNotes;
+    }
+
+    /**
+     * Id de una nota sembrada del usuario, al azar.
+     */
+    Long randomNoteId() {
+        return user.noteIds().get(random.nextInt(user.noteIds().size()));
+    }
+
+    /**
+     * Petición autenticada con el token del usuario del cliente.
+     */
+    HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Authorization", "Bearer " + user.token());
+    }
+
+    HttpRequest.Builder anonymousRequest(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path));
+    }
+
+    static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+
+    int send(HttpRequest request) throws IOException, InterruptedException {
+        // Se descarta el cuerpo, pero se lee entero (como haría un cliente real)
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    HttpResponse<String> sendForBody(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
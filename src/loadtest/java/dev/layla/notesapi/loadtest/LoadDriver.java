@@ -0,0 +1,121 @@
+package dev.layla.notesapi.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lanza N clientes concurrentes en bucle cerrado (cada uno espera su respuesta
+ * antes de enviar la siguiente) y mide cada llamada por operación.
+ * Las llamadas durante el warmup se ejecutan pero no se registran.
+ *
+ * Al ser bucle cerrado, si el servidor se satura los clientes envían menos:
+ * los percentiles son los de las peticiones servidas (no corrigen coordinated omission).
+ */
+final class LoadDriver {
+
+    /**
+     * Operación con su peso relativo en la mezcla.
+     */
+    record Weighted(Operation operation, int weight) {}
+
+    private final URI baseUri;
+    private final List<SeededUser> users;
+
+    LoadDriver(URI baseUri, List<SeededUser> users) {
+        this.baseUri = baseUri;
+        this.users = users;
+    }
+
+    Map<String, OperationStats> run(List<Weighted> mix, LoadSettings settings) throws InterruptedException {
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        for (Weighted weighted : mix) {
+            stats.put(weighted.operation().name(), new OperationStats());
+        }
+        int totalWeight = mix.stream().mapToInt(Weighted::weight).sum();
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.clients());
+        List<Future<?>> running = new ArrayList<>();
+        for (int c = 0; c < settings.clients(); c++) {
+            LoadClient client = new LoadClient(http, baseUri, users.get(c % users.size()), c);
+            running.add(executor.submit(() -> loop(client, mix, totalWeight, stats, measureFrom, end)));
+        }
+
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                throw new IllegalStateException("Load client failed", e);
+            }
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        stats.values().forEach(OperationStats::finish);
+        return stats;
+    }
+
+    private static void loop(LoadClient client, List<Weighted> mix, int totalWeight,
+                             Map<String, OperationStats> stats, long measureFrom, long end) {
+        while (System.nanoTime() < end) {
+            Operation operation = pick(mix, totalWeight, client.random().nextInt(totalWeight));
+            OperationStats operationStats = stats.get(operation.name());
+
+            try {
+                operation.prepare(client);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Sin preparación no hay llamada que medir
+                continue;
+            }
+
+            long t0 = System.nanoTime();
+            boolean ok;
+            try {
+                ok = operation.isSuccess(operation.call(client));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long t1 = System.nanoTime();
+
+            if (t0 >= measureFrom && t1 <= end) {
+                operationStats.record(TimeUnit.NANOSECONDS.toMicros(t1 - t0));
+                if (!ok) {
+                    operationStats.error();
+                }
+            }
+        }
+    }
+
+    private static Operation pick(List<Weighted> mix, int totalWeight, int roll) {
+        for (Weighted weighted : mix) {
+            roll -= weighted.weight();
+            if (roll < 0) {
+                return weighted.operation();
+            }
+        }
+        return mix.get(mix.size() - 1).operation();
+    }
+}
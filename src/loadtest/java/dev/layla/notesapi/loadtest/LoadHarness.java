@@ -0,0 +1,72 @@
+package dev.layla.notesapi.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prueba de carga de extremo a extremo: arranca la aplicación sobre H2,
+ * siembra usuarios y notas y lanza una mezcla de llamadas a AuthController,
+ * NoteController y UserController desde muchos clientes concurrentes.
+ *
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.main=dev.layla.notesapi.loadtest.LoadHarness
+ *
+ * La mezcla se configura con -Dbench.mix=clave:peso,... (claves en
+ * Operations.BY_KEY) y el modelo de hilos con -Dbench.virtual=true (Java 21).
+ * El resto de parámetros, ver LoadSettings.
+ */
+public final class LoadHarness {
+
+    static final String DEFAULT_MIX =
+            "list:30,search:15,get:20,update:10,create:5,delete:5,login:5,register:2,users:5,user:3";
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        List<LoadDriver.Weighted> mix = parseMix(System.getProperty("bench.mix", DEFAULT_MIX));
+        boolean virtualThreads = Boolean.getBoolean("bench.virtual");
+
+        System.out.println("Load harness: " + settings + ", virtualThreads=" + virtualThreads);
+        System.out.println("Mix: " + System.getProperty("bench.mix", DEFAULT_MIX));
+
+        try (EmbeddedApp app = EmbeddedApp.start("load-harness", Map.of(
+                "spring.threads.virtual.enabled", virtualThreads,
+                "server.tomcat.threads.max", settings.tomcatThreads(),
+                "spring.datasource.hikari.maximum-pool-size", settings.poolSize()))) {
+
+            long seedStart = System.nanoTime();
+            List<SeededUser> users = Seeder.seed(app, settings.users(), settings.notesPerUser());
+            System.out.printf("Seeded %d users x %d notes in %d ms%n", settings.users(), settings.notesPerUser(),
+                    (System.nanoTime() - seedStart) / 1_000_000);
+
+            Map<String, OperationStats> stats = new LoadDriver(app.baseUri(), users).run(mix, settings);
+            LoadReport.print(virtualThreads ? "load harness (virtual threads)" : "load harness", stats,
+                    settings.duration());
+        }
+    }
+
+    /**
+     * "list:30,get:20" -> operaciones con su peso. Una clave sin peso vale 1.
+     */
+    static List<LoadDriver.Weighted> parseMix(String mix) {
+        List<LoadDriver.Weighted> weighted = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = Operations.BY_KEY.get(parts[0]);
+            if (operation == null) {
+                throw new IllegalArgumentException("Unknown operation '" + parts[0] + "' in bench.mix, expected one of "
+                        + Operations.BY_KEY.keySet());
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            if (weight > 0) {
+                weighted.add(new LoadDriver.Weighted(operation, weight));
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("bench.mix has no operations with a positive weight");
+        }
+        return weighted;
+    }
+}
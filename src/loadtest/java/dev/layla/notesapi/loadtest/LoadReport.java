@@ -0,0 +1,41 @@
+package dev.layla.notesapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Imprime una tabla por operación: peticiones, errores, throughput y
+ * percentiles de latencia en milisegundos.
+ */
+final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    static void print(String title, Map<String, OperationStats> stats, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+
+        System.out.println();
+        System.out.println("=== " + title + " ===");
+        System.out.printf("%-28s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        long totalRequests = 0;
+        for (Map.Entry<String, OperationStats> entry : stats.entrySet()) {
+            Histogram h = entry.getValue().histogram();
+            long requests = h.getTotalCount();
+            totalRequests += requests;
+            System.out.printf("%-28s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), requests, entry.getValue().errors(), requests / seconds,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                    ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+        }
+        System.out.printf("%-28s %9d %7s %10.1f%n", "total", totalRequests, "", totalRequests / seconds);
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
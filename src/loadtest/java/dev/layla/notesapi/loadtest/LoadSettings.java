@@ -0,0 +1,50 @@
+package dev.layla.notesapi.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * Parámetros de una ejecución de carga, leídos de propiedades del sistema
+ * (-Dbench.clients=400 en la línea de mvn).
+ *
+ * @param users        Usuarios sembrados
+ * @param notesPerUser Notas sembradas por usuario
+ * @param clients      Clientes concurrentes (cada uno espera su respuesta antes de la siguiente)
+ * @param warmup       Tiempo inicial que no se mide (JIT, pools)
+ * @param duration     Tiempo medido
+ * @param tomcatThreads Hilos de Tomcat en modo platform
+ * @param poolSize     Conexiones de Hikari (igual en ambos modos)
+ */
+record LoadSettings(
+        int users,
+        int notesPerUser,
+        int clients,
+        Duration warmup,
+        Duration duration,
+        int tomcatThreads,
+        int poolSize
+) {
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.getInteger("bench.users", 20),
+                Integer.getInteger("bench.notes-per-user", 200),
+                Integer.getInteger("bench.clients", 200),
+                duration("bench.warmup", "5s"),
+                duration("bench.duration", "20s"),
+                Integer.getInteger("bench.tomcat-threads", 50),
+                Integer.getInteger("bench.pool-size", 20));
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", notesPerUser=" + notesPerUser + ", clients=" + clients
+                + ", warmup=" + warmup.toSeconds() + "s, duration=" + duration.toSeconds() + "s"
+                + ", tomcatThreads=" + tomcatThreads + ", poolSize=" + poolSize;
+    }
+}
@@ -0,0 +1,32 @@
+package dev.layla.notesapi.loadtest;
+
+import java.io.IOException;
+
+/**
+ * Una llamada a la API que el LoadDriver repite y mide.
+ */
+interface Operation {
+
+    /**
+     * Nombre con el que aparece en el informe, p. ej. "GET /notes".
+     */
+    String name();
+
+    /**
+     * Preparación que no se mide, p. ej. crear la nota que luego se borra.
+     */
+    default void prepare(LoadClient client) throws IOException, InterruptedException {
+    }
+
+    /**
+     * Hace una llamada y devuelve el status HTTP.
+     */
+    int call(LoadClient client) throws IOException, InterruptedException;
+
+    /**
+     * Status que cuenta como éxito.
+     */
+    default boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+}
@@ -0,0 +1,40 @@
+package dev.layla.notesapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias (HdrHistogram, en microsegundos) y errores de una operación.
+ * Recorder permite registrar desde muchos hilos sin bloqueos.
+ */
+final class OperationStats {
+
+    private final Recorder recorder = new Recorder(3);
+    private final LongAdder errors = new LongAdder();
+    private Histogram histogram;
+
+    void record(long micros) {
+        recorder.recordValue(micros);
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    /**
+     * Cierra la medición; después solo se puede consultar.
+     */
+    void finish() {
+        histogram = recorder.getIntervalHistogram();
+    }
+
+    Histogram histogram() {
+        return histogram;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,179 @@
+package dev.layla.notesapi.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Operaciones disponibles para los benchmarks. Cada una tiene una clave
+ * corta para la mezcla de LoadHarness (-Dbench.mix=list:40,get:20,...).
+ */
+final class Operations {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"(\\d+)\"");
+    private static final AtomicLong REGISTRATIONS = new AtomicLong();
+
+    private Operations() {
+    }
+
+    /**
+     * GET /notes en una de las primeras páginas del usuario.
+     */
+    static final Operation LIST_NOTES = simple("GET /notes", client -> {
+        int page = client.random().nextInt(5);
+        return client.send(client.request("/notes?size=20&page=" + page).GET().build());
+    });
+
+    /**
+     * GET /notes/search con una palabra del vocabulario sembrado.
+     */
+    static final Operation SEARCH_NOTES = simple("GET /notes/search", client -> {
+        String word = Seeder.WORDS[client.random().nextInt(Seeder.WORDS.length)];
+        return client.send(client.request("/notes/search?size=20&query=" + word).GET().build());
+    });
+
+    /**
+     * GET /notes/{id} de una nota sembrada del usuario.
+     */
+    static final Operation GET_NOTE = simple("GET /notes/{id}", client ->
+            client.send(client.request("/notes/" + client.randomNoteId()).GET().build()));
+
+    /**
+     * PUT /notes/{id} cambiando solo el título de una nota sembrada.
+     */
+    static final Operation UPDATE_NOTE = simple("PUT /notes/{id}", client -> {
+        String body = "{\"title\":\"" + Seeder.sentence(client.random(), 3) + "\"}";
+        return client.send(client.request("/notes/" + client.randomNoteId())
+                .header("Content-Type", "application/json")
+                .PUT(LoadClient.json(body))
+                .build());
+    });
+
+    /**
+     * POST /notes; la nota creada queda para DELETE_NOTE.
+     */
+    static final Operation CREATE_NOTE = simple("POST /notes", client -> {
+        HttpResponse<String> response = createNote(client);
+        return response.statusCode();
+    });
+
+    /**
+     * DELETE /notes/{id} de una nota creada por el cliente. Si no le queda
+     * ninguna, la crea antes (sin medir) para no borrar las sembradas.
+     */
+    static final Operation DELETE_NOTE = new Operation() {
+        @Override
+        public String name() {
+            return "DELETE /notes/{id}";
+        }
+
+        @Override
+        public void prepare(LoadClient client) throws IOException, InterruptedException {
+            if (client.createdNotes().isEmpty()) {
+                createNote(client);
+            }
+        }
+
+        @Override
+        public int call(LoadClient client) throws IOException, InterruptedException {
+            Long id = client.createdNotes().pop();
+            return client.send(client.request("/notes/" + id).DELETE().build());
+        }
+    };
+
+    /**
+     * POST /auth/login del usuario del cliente (incluye la verificación BCrypt).
+     */
+    static final Operation LOGIN = simple("POST /auth/login", client -> {
+        String body = "{\"email\":\"" + client.user().email() + "\",\"password\":\"" + Seeder.PASSWORD + "\"}";
+        return client.send(client.anonymousRequest("/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(LoadClient.json(body))
+                .build());
+    });
+
+    /**
+     * POST /auth/register con un email nuevo en cada llamada.
+     */
+    static final Operation REGISTER = simple("POST /auth/register", client -> {
+        long n = REGISTRATIONS.incrementAndGet();
+        String body = "{\"name\":\"Registered " + n + "\",\"email\":\"registered" + n
+                + "@example.com\",\"password\":\"" + Seeder.PASSWORD + "\"}";
+        return client.send(client.anonymousRequest("/auth/register")
+                .header("Content-Type", "application/json")
+                .POST(LoadClient.json(body))
+                .build());
+    });
+
+    /**
+     * GET /users en una de las primeras páginas.
+     */
+    static final Operation LIST_USERS = simple("GET /users", client -> {
+        int page = client.random().nextInt(3);
+        return client.send(client.request("/users?size=20&page=" + page).GET().build());
+    });
+
+    /**
+     * GET /users/{id} del propio usuario.
+     */
+    static final Operation GET_USER = simple("GET /users/{id}", client ->
+            client.send(client.request("/users/" + client.user().id()).GET().build()));
+
+    /**
+     * Claves de la mezcla de LoadHarness.
+     */
+    static final Map<String, Operation> BY_KEY = byKey();
+
+    private static Map<String, Operation> byKey() {
+        Map<String, Operation> operations = new LinkedHashMap<>();
+        operations.put("list", LIST_NOTES);
+        operations.put("search", SEARCH_NOTES);
+        operations.put("get", GET_NOTE);
+        operations.put("update", UPDATE_NOTE);
+        operations.put("create", CREATE_NOTE);
+        operations.put("delete", DELETE_NOTE);
+        operations.put("login", LOGIN);
+        operations.put("register", REGISTER);
+        operations.put("users", LIST_USERS);
+        operations.put("user", GET_USER);
+        return operations;
+    }
+
+    private static HttpResponse<String> createNote(LoadClient client) throws IOException, InterruptedException {
+        String body = "{\"title\":\"" + Seeder.sentence(client.random(), 3)
+                + "\",\"content\":\"" + Seeder.sentence(client.random(), 40) + "\"}";
+        HttpResponse<String> response = client.sendForBody(client.request("/notes")
+                .header("Content-Type", "application/json")
+                .POST(LoadClient.json(body))
+                .build());
+
+        Matcher id = ID.matcher(response.body());
+        if (response.statusCode() == 201 && id.find()) {
+            client.createdNotes().push(Long.valueOf(id.group(1)));
+        }
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        int call(LoadClient client) throws IOException, InterruptedException;
+    }
+
+    private static Operation simple(String name, Call call) {
+        return new Operation() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int call(LoadClient client) throws IOException, InterruptedException {
+                return call.call(client);
+            }
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package dev.layla.notesapi.loadtest;
+
+import java.util.List;
+
+/**
+ * Usuario sembrado: credenciales y los ids de sus notas.
+ */
+record SeededUser(
+        Long id,
+        String email,
+        String token,
+        List<Long> noteIds
+) {}
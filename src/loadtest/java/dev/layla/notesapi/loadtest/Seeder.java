@@ -0,0 +1,77 @@
+package dev.layla.notesapi.loadtest;
+
+import dev.layla.notesapi.auth.JwtService;
+import dev.layla.notesapi.note.Note;
+import dev.layla.notesapi.note.NoteRepository;
+import dev.layla.notesapi.note.search.NoteIndexer;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Siembra usuarios y notas directamente con los repositorios (mucho más
+ * rápido que por HTTP) y genera un token para cada usuario.
+ * Los datos dependen solo de la semilla fija, así que cada ejecución es igual.
+ */
+final class Seeder {
+
+    static final String PASSWORD = "loadtest-password";
+
+    /**
+     * Vocabulario de títulos y contenidos; las búsquedas usan estas palabras.
+     */
+    static final String[] WORDS = {
+            "spring", "java", "postgres", "cache", "index", "thread",
+            "latency", "search", "batch", "query", "groceries", "meeting"
+    };
+
+    private static final int CHUNK = 500;
+
+    private Seeder() {
+    }
+
+    static List<SeededUser> seed(EmbeddedApp app, int users, int notesPerUser) {
+        UserRepository userRepository = app.bean(UserRepository.class);
+        NoteRepository noteRepository = app.bean(NoteRepository.class);
+        JwtService jwtService = app.bean(JwtService.class);
+        // BCrypt es lento a propósito: un solo hash para todos los usuarios
+        String passwordHash = app.bean(PasswordEncoder.class).encode(PASSWORD);
+
+        Random random = new Random(42);
+        List<SeededUser> seeded = new ArrayList<>(users);
+
+        for (int u = 0; u < users; u++) {
+            User user = userRepository.save(new User("Load user " + u, "load" + u + "@example.com", passwordHash));
+
+            List<Long> noteIds = new ArrayList<>(notesPerUser);
+            List<Note> chunk = new ArrayList<>(CHUNK);
+            for (int n = 0; n < notesPerUser; n++) {
+                chunk.add(new Note(sentence(random, 3), sentence(random, 40), user));
+                if (chunk.size() == CHUNK || n == notesPerUser - 1) {
+                    noteRepository.saveAll(chunk).forEach(note -> noteIds.add(note.getId()));
+                    chunk.clear();
+                }
+            }
+            seeded.add(new SeededUser(user.getId(), user.getEmail(), jwtService.generateToken(user), noteIds));
+        }
+
+        // Las notas no pasaron por NoteService: reconstruir los índices de búsqueda en memoria
+        app.bean(NoteIndexer.class).rebuild();
+        return seeded;
+    }
+
+    static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package dev.layla.notesapi.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara throughput y latencia de GET /notes y GET /notes/search con Tomcat
+ * en hilos de plataforma (pool acotado) y en hilos virtuales.
+ *
+ * Cada modo arranca la aplicación desde cero con la misma semilla de datos
+ * y el mismo pool de Hikari, así que solo cambia el modelo de hilos.
+ * El modo virtual necesita Java 21: mvn -Pjava21,loadtest test-compile exec:java
+ *
+ * Parámetros: ver LoadSettings (-Dbench.clients, -Dbench.duration, ...).
+ */
+public final class ThreadingBenchmark {
+
+    private ThreadingBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        System.out.println("Threading benchmark: " + settings);
+
+        run("platform", false, settings);
+
+        if (Runtime.version().feature() >= 21) {
+            run("virtual", true, settings);
+        } else {
+            System.out.println();
+            System.out.println("Skipping virtual threads: running on Java " + Runtime.version().feature()
+                    + " (needs 21+, build with -Pjava21)");
+        }
+    }
+
+    private static void run(String mode, boolean virtualThreads, LoadSettings settings) throws InterruptedException {
+        try (EmbeddedApp app = EmbeddedApp.start("bench-" + mode, Map.of(
+                "spring.threads.virtual.enabled", virtualThreads,
+                "server.tomcat.threads.max", settings.tomcatThreads(),
+                "spring.datasource.hikari.maximum-pool-size", settings.poolSize()))) {
+
+            List<SeededUser> users = Seeder.seed(app, settings.users(), settings.notesPerUser());
+
+            Map<String, OperationStats> stats = new LoadDriver(app.baseUri(), users).run(List.of(
+                    new LoadDriver.Weighted(Operations.LIST_NOTES, 1),
+                    new LoadDriver.Weighted(Operations.SEARCH_NOTES, 1)), settings);
+
+            LoadReport.print(mode + " threads", stats, settings.duration());
+        }
+    }
+}
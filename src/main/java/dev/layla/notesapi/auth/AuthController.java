@@ -4,9 +4,11 @@ import dev.layla.notesapi.auth.dto.AuthResponse;
 import dev.layla.notesapi.auth.dto.LoginRequest;
 import dev.layla.notesapi.auth.dto.RegisterRequest;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -55,4 +57,18 @@ public class AuthController {
     public AuthResponse login(@Valid @RequestBody LoginRequest request) {
         return authService.login(request);
     }
+
+    /**
+     * Revoca todos los tokens del usuario autenticado (incluido el actual).
+     * Requiere token.
+     *
+     * POST /auth/logout-all
+     */
+    @PostMapping("/logout-all")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Cerrar todas las sesiones", description = "Revoca todos los tokens JWT emitidos para el usuario autenticado")
+    public void logoutAll(@AuthenticationPrincipal UserPrincipal currentUser) {
+        authService.revokeTokens(currentUser.getId());
+    }
 }
@@ -0,0 +1,109 @@
+package dev.layla.notesapi.auth;
+
+import dev.layla.notesapi.auth.exception.EmailAlreadyExistsException;
+import dev.layla.notesapi.auth.exception.InvalidCredentialsException;
+import dev.layla.notesapi.auth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Métricas de autenticación, publicadas en /actuator/metrics:
+ *
+ * - {@code auth.operation}: timer de login y register (tags operation, outcome
+ *   success|invalid_credentials|email_taken|busy|error). Incluye el coste de BCrypt.
+ * - {@code auth.token}: timer de la autenticación por token en
+ *   JwtAuthenticationFilter (tags mode user|stateless, outcome authenticated|rejected).
+ *   Las peticiones sin token no se miden.
+ * - {@code auth.password.queue} y {@code auth.password.hash}: espera en la cola
+ *   de {@link PasswordHasher} y duración del hash (tag operation encode|verify).
+ * - {@code auth.password.rejected}: hashes rechazados (tags operation, reason
+ *   saturated|timeout).
+ *
+ * Los timers publican histogramas de percentiles.
+ */
+@Component
+public class AuthMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T timeOperation(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            operationTimer(operation, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            operationTimer(operation, outcome(e)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * @param stateless    Si el principal se construyó solo con los claims
+     * @param authenticated Si la petición quedó autenticada
+     */
+    public void recordToken(boolean stateless, boolean authenticated, long nanos) {
+        Timer.builder("auth.token")
+                .description("Bearer token authentication in JwtAuthenticationFilter")
+                .tag("mode", stateless ? "stateless" : "user")
+                .tag("outcome", authenticated ? "authenticated" : "rejected")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPasswordHash(String operation, long queuedNanos, long hashNanos) {
+        Timer.builder("auth.password.queue")
+                .description("Time a password hash waited for a PasswordHasher thread")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(queuedNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("auth.password.hash")
+                .description("BCrypt hashing time in PasswordHasher")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(hashNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPasswordRejected(String operation, String reason) {
+        Counter.builder("auth.password.rejected")
+                .description("Password hashes rejected because PasswordHasher was saturated")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Timer operationTimer(String operation, String outcome) {
+        return Timer.builder("auth.operation")
+                .description("Login and registration in AuthService")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String outcome(RuntimeException e) {
+        if (e instanceof InvalidCredentialsException) {
+            return "invalid_credentials";
+        }
+        if (e instanceof EmailAlreadyExistsException) {
+            return "email_taken";
+        }
+        if (e instanceof PasswordHashingBusyException) {
+            return "busy";
+        }
+        return "error";
+    }
+}
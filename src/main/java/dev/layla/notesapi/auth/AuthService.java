@@ -7,8 +7,10 @@ import dev.layla.notesapi.auth.exception.EmailAlreadyExistsException;
 import dev.layla.notesapi.auth.exception.InvalidCredentialsException;
 import dev.layla.notesapi.user.User;
 import dev.layla.notesapi.user.UserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import dev.layla.notesapi.user.exception.UserNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Servicio de autenticación.
@@ -18,65 +20,118 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
+    private final PrincipalCache principalCache;
+    private final TokenEpochs tokenEpochs;
+    private final AuthMetrics authMetrics;
+    private final EntityManagerFactory entityManagerFactory;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    public AuthService(UserRepository userRepository, PasswordHasher passwordHasher, JwtService jwtService,
+                       PrincipalCache principalCache, TokenEpochs tokenEpochs, AuthMetrics authMetrics,
+                       EntityManagerFactory entityManagerFactory) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtService = jwtService;
+        this.principalCache = principalCache;
+        this.tokenEpochs = tokenEpochs;
+        this.authMetrics = authMetrics;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     /**
      * Registra un nuevo usuario.
      * 
      * 1. Verifica que el email no exista
-     * 2. Hashea el password
+     * 2. Hashea el password (en el pool de PasswordHasher)
      * 3. Guarda el usuario
      * 4. Genera y retorna el token JWT
      */
     public AuthResponse register(RegisterRequest request) {
-        // Verificar si el email ya existe
-        if (userRepository.findByEmail(request.email()).isPresent()) {
-            throw new EmailAlreadyExistsException(request.email());
-        }
-
-        // Crear usuario con password hasheado
-        User user = new User(
-                request.name(),
-                request.email(),
-                passwordEncoder.encode(request.password())
-        );
-
-        // Guardar en BD
-        userRepository.save(user);
+        return authMetrics.timeOperation("register", () -> {
+            // Verificar si el email ya existe
+            if (userRepository.findByEmail(request.email()).isPresent()) {
+                throw new EmailAlreadyExistsException(request.email());
+            }
+
+            // Crear usuario con password hasheado
+            User user = new User(
+                    request.name(),
+                    request.email(),
+                    passwordHasher.encode(request.password())
+            );
 
-        // Generar token
-        String token = jwtService.generateToken(user);
+            // Guardar en BD
+            userRepository.save(user);
 
-        return new AuthResponse(token, jwtService.getExpirationTime());
+            // Generar token
+            String token = jwtService.generateToken(user);
+
+            return new AuthResponse(token, jwtService.getExpirationTime());
+        });
     }
 
     /**
      * Autentica un usuario existente.
      * 
      * 1. Busca el usuario por email
-     * 2. Verifica el password
-     * 3. Genera y retorna el token JWT
+     * 2. Verifica el password (en el pool de PasswordHasher). Si el email no
+     *    existe se verifica igualmente contra un hash ficticio, así las dos
+     *    respuestas 401 cuestan lo mismo y no revelan qué emails están registrados
+     * 3. Si el hash usa otro coste de BCrypt, guarda el hash nuevo (solo esa
+     *    columna: el usuario se leyó antes del BCrypt y puede haber cambiado)
+     * 4. Genera y retorna el token JWT
      */
     public AuthResponse login(LoginRequest request) {
-        // Buscar usuario por email
-        User user = userRepository.findByEmail(request.email())
-                .orElseThrow(InvalidCredentialsException::new);
+        return authMetrics.timeOperation("login", () -> {
+            // Buscar usuario por email
+            User user = userRepository.findByEmail(request.email()).orElse(null);
+            if (user == null) {
+                passwordHasher.verifyDummy(request.password());
+                throw new InvalidCredentialsException();
+            }
 
-        // Verificar password
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
-            throw new InvalidCredentialsException();
-        }
+            // Verificar password
+            PasswordHasher.Verification verification = passwordHasher.verify(request.password(), user.getPassword());
+            if (!verification.matches()) {
+                throw new InvalidCredentialsException();
+            }
+            if (verification.upgradedHash() != null) {
+                rehash(user, verification.upgradedHash());
+            }
 
-        // Generar token
-        String token = jwtService.generateToken(user);
+            // Generar token
+            String token = jwtService.generateToken(user);
+
+            return new AuthResponse(token, jwtService.getExpirationTime());
+        });
+    }
+
+    /**
+     * Un save(user) reescribiría todas las columnas con lo leído antes del
+     * BCrypt y desharía, p. ej., un logout-all confirmado mientras tanto. El
+     * UPDATE solo toca el password; después se sacan de las cachés las copias
+     * con el hash anterior.
+     */
+    private void rehash(User user, String upgradedHash) {
+        userRepository.updatePasswordHash(user.getId(), user.getPassword(), upgradedHash);
+        entityManagerFactory.getCache().evict(User.class, user.getId());
+        principalCache.invalidate(user.getEmail());
+    }
+
+    /**
+     * Revoca todos los tokens emitidos hasta ahora para el usuario
+     * incrementando su epoch de tokens.
+     */
+    @Transactional
+    public void revokeTokens(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+
+        user.setTokenEpoch(user.getTokenEpoch() + 1);
+        userRepository.save(user);
 
-        return new AuthResponse(token, jwtService.getExpirationTime());
+        principalCache.invalidate(user.getEmail());
+        tokenEpochs.evict(userId);
     }
 }
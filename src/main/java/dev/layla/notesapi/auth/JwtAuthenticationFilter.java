@@ -1,10 +1,11 @@
 package dev.layla.notesapi.auth;
 
-import dev.layla.notesapi.user.UserRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,9 +21,16 @@ import java.io.IOException;
  * 
  * Flujo:
  * 1. Extrae el token del header "Authorization: Bearer <token>"
- * 2. Valida el token usando JwtService
- * 3. Carga el usuario de la BD
+ * 2. Valida el token usando JwtService (una sola verificación por petición)
+ * 3. Carga el usuario (desde PrincipalCache, que solo va a la BD si no lo tiene)
  * 4. Configura el SecurityContext con el usuario autenticado
+ *
+ * Modo stateless ({@code jwt.stateless=true}): el paso 3 no carga el usuario;
+ * el principal ({@link TokenPrincipal}) se construye con el id y el rol del token
+ * y solo se comprueba que el epoch del token siga vigente ({@link TokenEpochs}).
+ * Los tokens sin esos claims siguen el flujo normal.
+ *
+ * El tiempo de autenticar cada token se publica como {@code auth.token} ({@link AuthMetrics}).
  * 
  * Este filtro se ejecuta ANTES de que la petición llegue al controlador.
  */
@@ -30,11 +38,22 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
-
-    public JwtAuthenticationFilter(JwtService jwtService, UserRepository userRepository) {
+    private final PrincipalCache principalCache;
+    private final TokenEpochs tokenEpochs;
+    private final AuthMetrics authMetrics;
+    private final boolean stateless;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            PrincipalCache principalCache,
+            TokenEpochs tokenEpochs,
+            AuthMetrics authMetrics,
+            @Value("${jwt.stateless:false}") boolean stateless) {
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.tokenEpochs = tokenEpochs;
+        this.authMetrics = authMetrics;
+        this.stateless = stateless;
     }
 
     @Override
@@ -56,32 +75,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 3. Extraer el token (quitar "Bearer ")
         final String jwt = authHeader.substring(7);
 
+        final long start = System.nanoTime();
+        boolean statelessPrincipal = false;
+        boolean authenticated = false;
         try {
-            // 4. Extraer el email/username del token
-            final String userEmail = jwtService.extractUsername(jwt);
-
-            // 5. Si tenemos email y NO hay autenticación previa en el contexto
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-                // 6. Buscar el usuario en la BD
-                UserDetails userDetails = userRepository.findByEmail(userEmail)
-                        .orElse(null);
-
-                // 7. Si el usuario existe y el token es válido
-                if (userDetails != null && jwtService.isTokenValid(jwt, userDetails)) {
-
-                    // 8. Crear el objeto de autenticación
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null, // No necesitamos credenciales, ya validamos el token
-                            userDetails.getAuthorities()
-                    );
-
-                    // 9. Agregar detalles de la petición
+            // 4. Verificar el token una sola vez (firma + expiración) y obtener sus claims
+            final Claims claims = jwtService.verify(jwt).orElse(null);
+
+            // 5. Si el token es válido y NO hay autenticación previa en el contexto
+            if (claims != null && claims.getSubject() != null
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+
+                // 6. Autenticar: solo con los claims (stateless) o cargando el usuario
+                TokenPrincipal tokenPrincipal = stateless
+                        ? jwtService.toPrincipal(claims).orElse(null)
+                        : null;
+                statelessPrincipal = tokenPrincipal != null;
+                UsernamePasswordAuthenticationToken authToken = tokenPrincipal != null
+                        ? authenticateFromClaims(tokenPrincipal, claims)
+                        : authenticateFromUser(claims);
+
+                if (authToken != null) {
+                    // 7. Agregar detalles de la petición
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    // 10. Establecer la autenticación en el SecurityContext
+                    // 8. Establecer la autenticación en el SecurityContext
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    authenticated = true;
                 }
             }
         } catch (Exception e) {
@@ -89,8 +109,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // La petición continuará y Spring Security denegará acceso a rutas protegidas
             logger.debug("JWT validation failed: " + e.getMessage());
         }
+        authMetrics.recordToken(statelessPrincipal, authenticated, System.nanoTime() - start);
 
-        // 11. Continuar con la cadena de filtros
+        // 9. Continuar con la cadena de filtros
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Modo normal: carga el usuario (caché por email, BD solo en un miss)
+     * y comprueba que los claims le correspondan.
+     */
+    private UsernamePasswordAuthenticationToken authenticateFromUser(Claims claims) {
+        UserDetails userDetails = principalCache.get(claims.getSubject()).orElse(null);
+
+        if (userDetails == null || !jwtService.isTokenValid(claims, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null, // No necesitamos credenciales, ya validamos el token
+                userDetails.getAuthorities()
+        );
+    }
+
+    /**
+     * Modo stateless: el principal sale de los claims; solo se valida
+     * que el epoch del token siga siendo el actual del usuario.
+     */
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(TokenPrincipal principal, Claims claims) {
+        Integer epoch = jwtService.tokenEpoch(claims);
+
+        if (epoch == null || !tokenEpochs.isCurrent(principal.getId(), epoch)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
 }
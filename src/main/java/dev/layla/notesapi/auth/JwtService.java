@@ -1,14 +1,30 @@
 package dev.layla.notesapi.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import dev.layla.notesapi.user.Role;
+import dev.layla.notesapi.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -18,18 +34,70 @@ import java.util.function.Function;
  * - Genera tokens cuando el usuario hace login
  * - Valida tokens en cada petición protegida
  * - Extrae información del token (username, expiración, etc.)
+ *
+ * La clave y el parser se construyen una sola vez. Los tokens ya verificados
+ * se guardan en una caché acotada (digest SHA-256 del token -> claims) que
+ * expira cada entrada en el "exp" de su token, así que repetir el mismo bearer
+ * token no vuelve a verificar la firma HMAC.
+ *
+ * Los tokens de un User incluyen además su id, rol y epoch de tokens, para que
+ * el modo stateless ({@code jwt.stateless=true}) pueda autenticar sin ir a la BD.
  */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
-
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String EPOCH_CLAIM = "epoch";
+
+    private final long jwtExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration}") long jwtExpiration,
+            @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheSize,
+            MeterRegistry meterRegistry) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt-claims");
+    }
 
     // ==================== MÉTODOS PÚBLICOS ====================
 
+    /**
+     * Verifica el token (firma y expiración) una sola vez y devuelve sus claims.
+     * Devuelve vacío si el token es inválido o ha expirado.
+     */
+    public Optional<Claims> verify(String token) {
+        String digest = digest(token);
+
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !isExpired(cached)) {
+            return Optional.of(cached);
+        }
+
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Extrae el username (email) del token.
      */
@@ -41,54 +109,117 @@ public class JwtService {
      * Genera un token JWT para el usuario.
      */
     public String generateToken(UserDetails userDetails) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey())
-                .compact();
+                .expiration(new Date(System.currentTimeMillis() + jwtExpiration));
+
+        if (userDetails instanceof User user) {
+            builder.claim(USER_ID_CLAIM, user.getId())
+                    .claim(ROLE_CLAIM, user.getRole().name())
+                    .claim(EPOCH_CLAIM, user.getTokenEpoch());
+        }
+
+        return builder.signWith(signingKey).compact();
     }
 
     /**
      * Verifica si el token es válido para el usuario dado.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return verify(token)
+                .map(claims -> isTokenValid(claims, userDetails))
+                .orElse(false);
     }
 
     /**
-     * Obtiene el tiempo de expiración configurado.
+     * Verifica si unos claims ya verificados corresponden al usuario dado y siguen vigentes.
+     * Si el token lleva epoch, también debe coincidir con el epoch actual del usuario.
      */
-    public long getExpirationTime() {
-        return jwtExpiration;
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        if (!userDetails.getUsername().equals(claims.getSubject()) || isExpired(claims)) {
+            return false;
+        }
+        Integer epoch = tokenEpoch(claims);
+        return epoch == null || !(userDetails instanceof User user) || user.getTokenEpoch() == epoch;
     }
 
-    // ==================== MÉTODOS PRIVADOS ====================
+    /**
+     * Construye el principal solo con los claims (modo stateless).
+     * Vacío si el token no trae id y rol (por ejemplo, tokens antiguos).
+     */
+    public Optional<TokenPrincipal> toPrincipal(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        Object role = claims.get(ROLE_CLAIM);
+        if (!(userId instanceof Number id) || !(role instanceof String roleName)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new TokenPrincipal(id.longValue(), claims.getSubject(), Role.valueOf(roleName)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Epoch con el que se emitió el token, o null si no lo trae.
+     */
+    public Integer tokenEpoch(Claims claims) {
+        return claims.get(EPOCH_CLAIM) instanceof Number epoch ? epoch.intValue() : null;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Obtiene el tiempo de expiración configurado.
+     */
+    public long getExpirationTime() {
+        return jwtExpiration;
     }
 
+    // ==================== MÉTODOS PRIVADOS ====================
+
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token)
+                .orElseThrow(() -> new JwtException("Invalid or expired JWT"));
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * La caché guarda un digest del token, no el token en sí.
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Cada entrada vive hasta el "exp" de su token.
+     */
+    private static final class ExpireAtTokenExpiration implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,181 @@
+package dev.layla.notesapi.auth;
+
+import dev.layla.notesapi.auth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hashing y verificación de passwords (BCrypt) en un pool propio y acotado.
+ *
+ * Cada hash cuesta decenas de milisegundos de CPU. Si se hiciera en el hilo de
+ * Tomcat, un pico de logins o registros ocuparía todos los hilos y dejaría sin
+ * servicio a /notes. Aquí hay como mucho {@code auth.password-hashing.threads}
+ * hashes a la vez (por defecto, uno por CPU) y {@code queue-capacity} en espera;
+ * el resto se rechaza al momento con PasswordHashingBusyException (503 con
+ * Retry-After), igual que una petición que espera más de {@code timeout}.
+ *
+ * Métricas: {@code executor.*} con el tag name=password-hashing (cola, hilos
+ * activos, completadas) y los de {@link AuthMetrics} (auth.password.*).
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final AuthMetrics authMetrics;
+    private final ThreadPoolExecutor executor;
+    private final int strength;
+    private final Duration timeout;
+    private final Duration retryAfter;
+    private volatile String dummyHash;
+
+    /**
+     * Resultado de verificar un password.
+     *
+     * @param matches      Si el password coincide con el hash
+     * @param upgradedHash Nuevo hash con el coste actual, o null si no hace falta
+     *                     (o si el password no coincide)
+     */
+    public record Verification(boolean matches, String upgradedHash) {}
+
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            AuthMetrics authMetrics,
+            MeterRegistry meterRegistry,
+            @Value("${auth.bcrypt.strength:10}") int strength,
+            @Value("${auth.password-hashing.threads:0}") int threads,
+            @Value("${auth.password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${auth.password-hashing.timeout:3s}") Duration timeout,
+            @Value("${auth.password-hashing.retry-after:1s}") Duration retryAfter) {
+        this.passwordEncoder = passwordEncoder;
+        this.authMetrics = authMetrics;
+        this.strength = strength;
+        this.timeout = timeout;
+        this.retryAfter = retryAfter;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue, task -> {
+            Thread thread = new Thread(task, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return run("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Verifica el password y, si coincide y su hash usa otro coste que el
+     * configurado ({@code auth.bcrypt.strength}), calcula el hash nuevo en la
+     * misma tarea: es el único momento en que se conoce el password en claro.
+     */
+    public Verification verify(String rawPassword, String encodedPassword) {
+        return run("verify", () -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return new Verification(false, null);
+            }
+            return new Verification(true, needsRehash(encodedPassword) ? passwordEncoder.encode(rawPassword) : null);
+        });
+    }
+
+    /**
+     * Verifica el password contra un hash que no es de ningún usuario. Sirve para
+     * que un login con un email desconocido tarde lo mismo que uno con password
+     * incorrecto (y pase por el mismo pool, con el mismo 503 si está lleno).
+     */
+    public void verifyDummy(String rawPassword) {
+        run("verify", () -> passwordEncoder.matches(rawPassword, dummyHash()));
+    }
+
+    /**
+     * Se genera la primera vez (en el pool) con el coste configurado, para que
+     * verificarlo cueste lo mismo que un hash real.
+     */
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Si el hash es BCrypt con un coste distinto al configurado. Hashes en
+     * otro formato no se tocan.
+     */
+    boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T run(String operation, Callable<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return hash.call();
+                } finally {
+                    authMetrics.recordPasswordHash(operation, started - submitted, System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            authMetrics.recordPasswordRejected(operation, "saturated");
+            throw new PasswordHashingBusyException(retryAfter);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Si aún está en cola, no llega a ejecutarse y deja libre su hueco
+            future.cancel(false);
+            executor.purge();
+            authMetrics.recordPasswordRejected(operation, "timeout");
+            throw new PasswordHashingBusyException(retryAfter);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException(retryAfter);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
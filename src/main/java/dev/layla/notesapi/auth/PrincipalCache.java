@@ -0,0 +1,72 @@
+package dev.layla.notesapi.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.layla.notesapi.common.TransactionCallbacks;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Caché de usuarios autenticados, por email.
+ *
+ * JwtAuthenticationFilter la consulta en cada petición con token en lugar de
+ * ir a la BD. Está acotada por tamaño y cada entrada expira después de un TTL,
+ * así que cualquier cambio hecho fuera de UserService se ve como mucho tras ese
+ * tiempo. UserService la invalida cuando cambia el email o el rol de un usuario,
+ * o cuando lo elimina.
+ *
+ * Las métricas (hits, misses, evictions, tamaño) se publican en actuator como
+ * {@code cache.*} con el tag {@code cache=principals}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> cache;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.principal-cache.max-size:10000}") long maxSize,
+            @Value("${auth.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * Devuelve el usuario con ese email, desde la caché o desde la BD.
+     * Los emails que no existen no se cachean.
+     */
+    public Optional<User> get(String email) {
+        return Optional.ofNullable(cache.get(email, key -> userRepository.findByEmail(key).orElse(null)));
+    }
+
+    /**
+     * Invalida la entrada de un email. Si hay una transacción activa se
+     * invalida también después del commit, para que una petición concurrente
+     * no vuelva a cachear los datos anteriores.
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        cache.invalidate(email);
+        TransactionCallbacks.afterCommit(() -> cache.invalidate(email));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,61 @@
+package dev.layla.notesapi.auth;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import dev.layla.notesapi.common.TransactionCallbacks;
+import dev.layla.notesapi.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Epoch de tokens por usuario, para revocar JWTs en modo stateless.
+ *
+ * Cada token lleva el epoch que tenía el usuario al emitirse. Incrementar el
+ * epoch del usuario (logout-all, cambio de email o rol) invalida todos sus tokens
+ * anteriores. El epoch actual se cachea por usuario durante
+ * {@code jwt.stateless.epoch-ttl}, así que las peticiones no van a la BD y un
+ * cambio hecho en otro nodo se ve como mucho tras ese tiempo.
+ */
+@Component
+public class TokenEpochs {
+
+    /** Epoch de un usuario que ya no existe: ningún token coincide. */
+    private static final int UNKNOWN_USER = -1;
+
+    private final LoadingCache<Long, Integer> epochs;
+
+    public TokenEpochs(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.stateless.epoch-cache.max-size:100000}") long maxSize,
+            @Value("${jwt.stateless.epoch-ttl:60s}") Duration ttl) {
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(userId -> userRepository.findTokenEpochById(userId).orElse(UNKNOWN_USER));
+        CaffeineCacheMetrics.monitor(meterRegistry, epochs, "token-epochs");
+    }
+
+    /**
+     * Indica si el epoch del token sigue siendo el actual del usuario.
+     */
+    public boolean isCurrent(Long userId, int tokenEpoch) {
+        return tokenEpoch != UNKNOWN_USER && epochs.get(userId) == tokenEpoch;
+    }
+
+    /**
+     * Olvida el epoch cacheado (después del commit si hay transacción).
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        epochs.invalidate(userId);
+        TransactionCallbacks.afterCommit(() -> epochs.invalidate(userId));
+    }
+}
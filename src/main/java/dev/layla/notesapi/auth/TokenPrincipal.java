@@ -0,0 +1,33 @@
+package dev.layla.notesapi.auth;
+
+import dev.layla.notesapi.user.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Principal ligero construido a partir de los claims del JWT (modo stateless).
+ * No requiere cargar el usuario de la BD.
+ */
+public record TokenPrincipal(Long id, String email, Role role) implements UserPrincipal {
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public Role getRole() {
+        return role;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
@@ -0,0 +1,18 @@
+package dev.layla.notesapi.auth;
+
+import dev.layla.notesapi.user.Role;
+
+/**
+ * Usuario autenticado tal como lo ven los controllers ({@code @AuthenticationPrincipal}).
+ *
+ * Lo implementan la entidad User (modo normal, cargada de la BD o de PrincipalCache)
+ * y {@link TokenPrincipal} (modo stateless, construido solo con los claims del JWT).
+ */
+public interface UserPrincipal {
+
+    Long getId();
+
+    String getEmail();
+
+    Role getRole();
+}
@@ -0,0 +1,21 @@
+package dev.layla.notesapi.auth.exception;
+
+import java.time.Duration;
+
+/**
+ * Excepción lanzada cuando el pool de BCrypt está saturado (cola llena) o la
+ * petición esperó demasiado su turno. Se responde 503 con Retry-After.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingBusyException(Duration retryAfter) {
+        super("Too many authentication requests, retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,18 @@
+package dev.layla.notesapi.common;
+
+import java.util.List;
+
+/**
+ * Página de resultados con paginación por cursor (keyset).
+ *
+ * {@code next} y {@code prev} son cursores opacos: se envían tal cual en el
+ * parámetro {@code cursor} para pedir la página siguiente o la anterior.
+ * Son null cuando no hay más resultados en esa dirección.
+ * A diferencia de Page, no incluye el total (no hace COUNT).
+ */
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        String next,
+        String prev
+) {}
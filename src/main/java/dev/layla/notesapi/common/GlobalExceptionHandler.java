@@ -2,9 +2,14 @@ package dev.layla.notesapi.common;
 
 import dev.layla.notesapi.auth.exception.EmailAlreadyExistsException;
 import dev.layla.notesapi.auth.exception.InvalidCredentialsException;
+import dev.layla.notesapi.auth.exception.PasswordHashingBusyException;
+import dev.layla.notesapi.note.exception.InvalidCursorException;
 import dev.layla.notesapi.note.exception.NoteNotFoundException;
 import dev.layla.notesapi.note.exception.NoteAccessDeniedException;
+import dev.layla.notesapi.note.exception.NotePreconditionFailedException;
 import dev.layla.notesapi.user.exception.UserNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -80,6 +85,41 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(body);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiError> handleInvalidCursor(InvalidCursorException ex) {
+        ApiError body = new ApiError(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    // ========== CONCURRENCIA ==========
+
+    /**
+     * If-Match no coincide con la versión actual de la nota.
+     */
+    @ExceptionHandler(NotePreconditionFailedException.class)
+    public ResponseEntity<ApiError> handleNotePreconditionFailed(NotePreconditionFailedException ex) {
+        ApiError body = new ApiError(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                ex.getMessage(),
+                LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(body);
+    }
+
+    /**
+     * Otra petición modificó la misma entidad entre la lectura y el commit (@Version).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ApiError body = new ApiError(
+                HttpStatus.CONFLICT.value(),
+                "The resource was modified concurrently, retry the request",
+                LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
     // ========== ERRORES DE AUTENTICACIÓN ==========
 
     @ExceptionHandler(EmailAlreadyExistsException.class)
@@ -100,6 +140,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(body);
     }
 
+    /**
+     * El pool de BCrypt está saturado: se rechaza al momento en lugar de
+     * ocupar más hilos de Tomcat esperando.
+     */
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ApiError> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        ApiError body = new ApiError(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(body);
+    }
+
     // ========== ERROR GENÉRICO ==========
 
     /**
@@ -0,0 +1,95 @@
+package dev.layla.notesapi.common.id;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ids de 64 bits ordenados por tiempo (estilo Snowflake/TSID), generados en el
+ * proceso sin ir a la base de datos:
+ *
+ * <pre>
+ * | 1 bit: 0 | 41 bits: ms desde 2025-01-01 UTC | 10 bits: nodo | 12 bits: secuencia |
+ * </pre>
+ *
+ * - Cada nodo (0-1023) genera hasta 4096 ids por milisegundo sin coordinarse
+ *   con los demás; dos instancias solo pueden repetir ids si comparten nodo.
+ * - Los ids de un nodo son estrictamente crecientes. El estado (timestamp y
+ *   secuencia) es un único AtomicLong que se avanza con CAS: si la secuencia se
+ *   agota, o el reloj retrocede, se sigue con el milisegundo siguiente al
+ *   último usado en lugar de esperar.
+ * - Ordenar por id es ordenar por momento de creación (con precisión de ms
+ *   entre nodos distintos).
+ *
+ * El timestamp de 41 bits alcanza hasta 2094.
+ */
+public final class TsidFactory {
+
+    static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << 41) - 1;
+
+    private static final Map<Integer, TsidFactory> BY_NODE = new ConcurrentHashMap<>();
+
+    private final long node;
+    private final LongSupplier clock;
+
+    /** (milisegundos desde EPOCH_MILLIS << SEQUENCE_BITS) | secuencia del último id */
+    private final AtomicLong state = new AtomicLong();
+
+    TsidFactory(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("node must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    /**
+     * Generador compartido por todo el proceso para un nodo: todas las
+     * entidades (y contextos de Spring) con el mismo nodo avanzan la misma
+     * secuencia y nunca repiten id.
+     */
+    public static TsidFactory forNode(int node) {
+        return BY_NODE.computeIfAbsent(node, n -> new TsidFactory(n, System::currentTimeMillis));
+    }
+
+    public long next() {
+        while (true) {
+            long last = state.get();
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            // Mismo milisegundo o reloj atrasado: +1 en la secuencia, que al
+            // desbordar pasa al milisegundo siguiente
+            long next = now > last >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : last + 1;
+            if (next >>> SEQUENCE_BITS > MAX_TIMESTAMP) {
+                throw new IllegalStateException("TSID timestamp overflow");
+            }
+            if (state.compareAndSet(last, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+                        | node << SEQUENCE_BITS
+                        | next & SEQUENCE_MASK;
+            }
+        }
+    }
+
+    public int node() {
+        return (int) node;
+    }
+
+    /**
+     * Momento (con precisión de ms) en que se generó un id.
+     */
+    public static Instant timestamp(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    public static int node(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE;
+    }
+}
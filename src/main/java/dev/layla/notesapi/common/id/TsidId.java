@@ -0,0 +1,19 @@
+package dev.layla.notesapi.common.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id de entidad generado con {@link TsidFactory} al hacer persist, sin
+ * secuencia ni IDENTITY: no hay round-trip por INSERT y Hibernate puede
+ * agrupar los INSERT en batches JDBC.
+ */
+@IdGeneratorType(TsidIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TsidId {
+}
@@ -0,0 +1,49 @@
+package dev.layla.notesapi.common.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.Configurable;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.EnumSet;
+import java.util.Properties;
+
+/**
+ * Generador de Hibernate para {@link TsidId}. El nodo se lee de la propiedad
+ * de Hibernate {@value #NODE_SETTING} (ver IdGeneratorConfig).
+ *
+ * Constructor vacío: con Spring, Hibernate crea los generadores a través del
+ * contenedor de beans; la configuración llega después en {@link #configure}.
+ */
+public class TsidIdGenerator implements BeforeExecutionGenerator, Configurable {
+
+    public static final String NODE_SETTING = "notes.id.node";
+
+    private TsidFactory factory;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        Object node = serviceRegistry.requireService(ConfigurationService.class)
+                .getSettings()
+                .get(NODE_SETTING);
+        if (node == null) {
+            throw new IllegalStateException("Missing Hibernate setting " + NODE_SETTING);
+        }
+        this.factory = TsidFactory.forNode(Integer.parseInt(node.toString()));
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return factory.next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
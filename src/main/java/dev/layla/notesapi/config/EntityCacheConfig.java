@@ -0,0 +1,90 @@
+package dev.layla.notesapi.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché de segundo nivel de Hibernate: JCache con Caffeine, en memoria del proceso.
+ *
+ * Regiones (ver las anotaciones @Cache / @NaturalIdCache de las entidades):
+ * - notes: entidades Note por id.
+ * - users: entidades User por id.
+ * - users-by-email: email -> id de User (natural id), usada por findByEmail.
+ *
+ * Cada región se acota por tamaño y expira sus entradas tras un TTL desde la
+ * escritura ({@code entity-cache.<region>.max-size} / {@code .ttl}). La estrategia
+ * READ_WRITE mantiene la caché coherente con las escrituras de este proceso;
+ * con varias instancias cada una tiene su propia caché y el TTL acota lo que
+ * puede quedar desactualizado.
+ *
+ * Las estadísticas se publican en actuator como {@code cache.*} con el tag
+ * {@code cache=<region>}.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String NOTES_REGION = "notes";
+    public static final String USERS_REGION = "users";
+    public static final String USERS_BY_EMAIL_REGION = "users-by-email";
+
+    /**
+     * CacheManager propio (URI única): cada contexto de Spring tiene sus regiones
+     * y las cierra al terminar, sin compartirlas con otros contextos del mismo proceso.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(
+            MeterRegistry meterRegistry,
+            @Value("${entity-cache.notes.max-size:10000}") long notesMaxSize,
+            @Value("${entity-cache.notes.ttl:10m}") Duration notesTtl,
+            @Value("${entity-cache.users.max-size:10000}") long usersMaxSize,
+            @Value("${entity-cache.users.ttl:10m}") Duration usersTtl,
+            @Value("${entity-cache.users-by-email.max-size:10000}") long usersByEmailMaxSize,
+            @Value("${entity-cache.users-by-email.ttl:10m}") Duration usersByEmailTtl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("notes-api-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader(), new Properties());
+
+        createRegion(cacheManager, meterRegistry, NOTES_REGION, notesMaxSize, notesTtl);
+        createRegion(cacheManager, meterRegistry, USERS_REGION, usersMaxSize, usersTtl);
+        createRegion(cacheManager, meterRegistry, USERS_BY_EMAIL_REGION, usersByEmailMaxSize, usersByEmailTtl);
+        return cacheManager;
+    }
+
+    /**
+     * Pasa a Hibernate el CacheManager ya configurado; las regiones que falten
+     * hacen fallar el arranque (missing_cache_strategy=fail en application.properties).
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateProperties(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, MeterRegistry meterRegistry,
+                                     String region, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttl.toMillis())));
+        configuration.setStatisticsEnabled(true);
+
+        Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+        JCacheMetrics.monitor(meterRegistry, cache);
+    }
+}
@@ -0,0 +1,48 @@
+package dev.layla.notesapi.config;
+
+import dev.layla.notesapi.common.id.TsidIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Nodo de los ids de Note y User (ver TsidFactory).
+ *
+ * Cada instancia necesita un {@code notes.id.node} distinto (0-1023): dos
+ * instancias con el mismo nodo generarían claves primarias duplicadas. Solo
+ * en el perfil dev (una instancia, H2 en memoria) se admite que falte, y se
+ * elige uno al azar; en cualquier otro perfil el arranque falla.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    static final String NODE_PROPERTY = "notes.id.node";
+
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorHibernateProperties(Environment environment) {
+        int node = resolveNode(environment);
+        return properties -> properties.put(TsidIdGenerator.NODE_SETTING, node);
+    }
+
+    static int resolveNode(Environment environment) {
+        String configured = environment.getProperty(NODE_PROPERTY, "");
+        if (!configured.isBlank()) {
+            return Integer.parseInt(configured.trim());
+        }
+        if (!environment.acceptsProfiles(Profiles.of("dev"))) {
+            throw new IllegalStateException(NODE_PROPERTY + " (or NOTES_ID_NODE) must be set to a node "
+                    + "between 0 and 1023 that no other instance uses");
+        }
+        int node = ThreadLocalRandom.current().nextInt(1024);
+        log.info("{} is not set, generating ids as random node {} (dev profile)", NODE_PROPERTY, node);
+        return node;
+    }
+}
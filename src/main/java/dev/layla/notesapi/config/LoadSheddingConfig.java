@@ -0,0 +1,27 @@
+package dev.layla.notesapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.layla.notesapi.loadshedding.ConcurrencyLimitFilter;
+import dev.layla.notesapi.loadshedding.ConcurrencyLimiter;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra el límite de concurrencia como filtro del servlet, solo para las
+ * rutas de notas y usuarios y antes de la cadena de Spring Security.
+ */
+@Configuration
+public class LoadSheddingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            ConcurrencyLimiter limiter, ObjectMapper objectMapper) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limiter, objectMapper));
+        registration.addUrlPatterns("/notes", "/notes/*", "/users", "/users/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -1,6 +1,11 @@
 package dev.layla.notesapi.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.layla.notesapi.auth.JwtAuthenticationFilter;
+import dev.layla.notesapi.ratelimit.RateLimitFilter;
+import dev.layla.notesapi.ratelimit.RateLimiter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -15,7 +20,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * Configuración de Spring Security con JWT.
  * 
  * Rutas públicas (no requieren token):
- * - /auth/** (login, registro)
+ * - /auth/** (login, registro), salvo /auth/logout-all
  * - /actuator/** (health checks)
  * - /swagger-ui/**, /v3/api-docs/** (documentación)
  * - /h2-console/** (consola de BD en desarrollo)
@@ -24,15 +29,22 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * - /notes/**
  * - /users/**
  * - Cualquier otra ruta
+ *
+ * Límite de peticiones: RateLimitFilter, justo después del filtro JWT
+ * (por IP en /auth/**, por usuario en el resto).
  */
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, RateLimiter rateLimiter, ObjectMapper objectMapper) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -57,6 +69,13 @@ public class SecurityConfig {
             
             // Configurar autorización de peticiones
             .authorizeHttpRequests(auth -> auth
+                // El dispatch ASYNC (fin de un StreamingResponseBody, p. ej. /notes/export)
+                // ya se autorizó en la petición original, que no cambia
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
+                // Revocar tokens requiere estar autenticado
+                .requestMatchers("/auth/logout-all").authenticated()
+
                 // Rutas públicas - Autenticación
                 .requestMatchers("/auth/**").permitAll()
                 
@@ -83,16 +102,21 @@ public class SecurityConfig {
             )
             
             // Agregar el filtro JWT ANTES del filtro de autenticación estándar
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+
+            // Límite de peticiones, con el usuario ya autenticado
+            .addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper), UsernamePasswordAuthenticationFilter.class);
         
         return http.build();
     }
 
     /**
      * Bean para encriptar contraseñas con BCrypt.
+     * Si cambia auth.bcrypt.strength, los hashes existentes se recalculan en el
+     * siguiente login (ver PasswordHasher).
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
@@ -0,0 +1,36 @@
+package dev.layla.notesapi.config.migration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Ejecuta {@link SchemaMigrator} al arrancar, antes de crear el
+ * EntityManagerFactory: Hibernate solo valida el esquema
+ * (spring.jpa.hibernate.ddl-auto=validate) y lo encuentra ya migrado.
+ */
+@Configuration
+@ConditionalOnProperty(name = "notes.schema-migration.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaMigrationConfig {
+
+    static final String MIGRATOR_BEAN = "schemaMigrator";
+
+    @Bean(name = MIGRATOR_BEAN, initMethod = "migrate")
+    public SchemaMigrator schemaMigrator(
+            DataSource dataSource,
+            ResourceLoader resourceLoader,
+            @Value("${notes.schema-migration.location:classpath:db/migration}") String location) {
+        return new SchemaMigrator(dataSource, ResourcePatternUtils.getResourcePatternResolver(resourceLoader), location);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnSchemaMigrator() {
+        return new EntityManagerFactoryDependsOnPostProcessor(MIGRATOR_BEAN);
+    }
+}
@@ -0,0 +1,263 @@
+package dev.layla.notesapi.config.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Migraciones versionadas del esquema, con el mismo formato que Flyway:
+ * {@code V<versión>__<descripción>.sql} en {@code <location>/<vendor>}
+ * (h2, postgresql), aplicadas en orden de versión al arrancar.
+ *
+ * Cada migración aplicada queda en la tabla {@code schema_history} con un
+ * checksum del script: si un script ya aplicado cambia, el arranque falla
+ * (las migraciones publicadas no se editan, se añade una nueva).
+ *
+ * Cada script se ejecuta en su propia transacción junto con su fila en
+ * schema_history (en PostgreSQL el DDL es transaccional; en H2 no, y un script
+ * que falla a medias puede dejar cambios que hay que deshacer a mano). La fila se
+ * inserta antes del script: si otra instancia está aplicando la misma versión,
+ * el INSERT espera a que termine y falla por la clave primaria, y esta la da
+ * por aplicada.
+ *
+ * Un script con la línea {@value #NO_TRANSACTION_MARKER} se ejecuta en
+ * autocommit, sentencia a sentencia: es lo que necesita CREATE INDEX
+ * CONCURRENTLY, que no admite transacciones y no bloquea las escrituras mientras
+ * se construye el índice. La fila de schema_history se confirma antes del
+ * script, así que otra instancia que arranque a la vez no espera: la da por
+ * aplicada y sigue. Si el script falla se borra la fila, pero lo que ya se hubiera
+ * ejecutado se queda; estos scripts tienen que poder repetirse desde el principio.
+ */
+public class SchemaMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    static final String HISTORY_TABLE = "schema_history";
+    static final String NO_TRANSACTION_MARKER = "-- migration: no-transaction";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    private final DataSource dataSource;
+    private final ResourcePatternResolver resourceResolver;
+    private final String location;
+
+    /**
+     * @param location Carpeta de las migraciones, p. ej. classpath:db/migration;
+     *                 los scripts se buscan en su subcarpeta del vendor
+     */
+    public SchemaMigrator(DataSource dataSource, ResourcePatternResolver resourceResolver, String location) {
+        this.dataSource = dataSource;
+        this.resourceResolver = resourceResolver;
+        this.location = location;
+    }
+
+    /**
+     * Aplica las migraciones pendientes.
+     *
+     * @return Número de migraciones aplicadas
+     */
+    public int migrate() {
+        try (Connection connection = dataSource.getConnection()) {
+            String vendor = vendor(connection);
+            List<Migration> migrations = load(vendor);
+            createHistoryTable(connection);
+            Map<Integer, Long> applied = appliedChecksums(connection);
+
+            int count = 0;
+            for (Migration migration : migrations) {
+                Long checksum = applied.get(migration.version());
+                if (checksum == null) {
+                    if (apply(connection, migration)) {
+                        count++;
+                    }
+                } else if (checksum != migration.checksum()) {
+                    throw new IllegalStateException("Migration " + migration.fileName()
+                            + " has changed since it was applied");
+                }
+            }
+            log.info("Schema migrations ({}): {} applied, {} up to date", vendor, count, migrations.size() - count);
+            return count;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Schema migration failed", e);
+        }
+    }
+
+    private String vendor(Connection connection) throws SQLException {
+        DatabaseDriver driver = DatabaseDriver.fromProductName(connection.getMetaData().getDatabaseProductName());
+        if (driver == DatabaseDriver.UNKNOWN) {
+            throw new IllegalStateException("No schema migrations for database "
+                    + connection.getMetaData().getDatabaseProductName());
+        }
+        return driver.getId();
+    }
+
+    List<Migration> load(String vendor) {
+        List<Migration> migrations = new ArrayList<>();
+        try {
+            for (Resource resource : resourceResolver.getResources(location + "/" + vendor + "/V*__*.sql")) {
+                Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+                if (!matcher.matches()) {
+                    throw new IllegalStateException("Invalid migration file name: " + resource.getFilename());
+                }
+                migrations.add(new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                        resource.getFilename(), resource, checksum(resource), !hasNoTransactionMarker(resource)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                throw new IllegalStateException("Duplicate migration version V" + migrations.get(i).version());
+            }
+        }
+        return migrations;
+    }
+
+    private void createHistoryTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " (" +
+                              "version INTEGER NOT NULL PRIMARY KEY, " +
+                              "description VARCHAR(200) NOT NULL, " +
+                              "checksum BIGINT NOT NULL, " +
+                              "installed_on TIMESTAMP NOT NULL, " +
+                              "execution_time_ms BIGINT NOT NULL)");
+        }
+    }
+
+    private Map<Integer, Long> appliedChecksums(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT version, checksum FROM " + HISTORY_TABLE)) {
+            while (rows.next()) {
+                applied.put(rows.getInt(1), rows.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * @return false si otra instancia ya la había aplicado
+     */
+    private boolean apply(Connection connection, Migration migration) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(!migration.transactional());
+        try {
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO " + HISTORY_TABLE + " (version, description, checksum, installed_on, execution_time_ms) " +
+                    "VALUES (?, ?, ?, ?, 0)")) {
+                insert.setInt(1, migration.version());
+                insert.setString(2, migration.description());
+                insert.setLong(3, migration.checksum());
+                insert.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                insert.executeUpdate();
+            } catch (SQLException e) {
+                if (isUniqueViolation(e)) {
+                    rollback(connection);
+                    log.info("Migration {} was applied by another instance", migration.fileName());
+                    return false;
+                }
+                throw e;
+            }
+
+            ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.resource(), StandardCharsets.UTF_8));
+
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE " + HISTORY_TABLE + " SET execution_time_ms = ? WHERE version = ?")) {
+                update.setLong(1, elapsedMs);
+                update.setInt(2, migration.version());
+                update.executeUpdate();
+            }
+            if (migration.transactional()) {
+                connection.commit();
+            }
+            log.info("Applied migration {} in {} ms", migration.fileName(), elapsedMs);
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            IllegalStateException failure = new IllegalStateException("Migration " + migration.fileName() + " failed", e);
+            // Si la limpieza también falla, el error del script sigue siendo la causa
+            try {
+                rollback(connection);
+                forget(connection, migration);
+            } catch (SQLException | RuntimeException cleanup) {
+                failure.addSuppressed(cleanup);
+            }
+            throw failure;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * En H2 el DDL hace commit implícito y la fila de schema_history puede haber
+     * sobrevivido al rollback (en una migración sin transacción ya estaba
+     * confirmada): se borra para que la migración se reintente.
+     */
+    private void forget(Connection connection, Migration migration) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement(
+                "DELETE FROM " + HISTORY_TABLE + " WHERE version = ?")) {
+            delete.setInt(1, migration.version());
+            delete.executeUpdate();
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    private static void rollback(Connection connection) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.rollback();
+        }
+    }
+
+    private static boolean hasNoTransactionMarker(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .anyMatch(line -> line.strip().equalsIgnoreCase(NO_TRANSACTION_MARKER));
+        }
+    }
+
+    private static boolean isUniqueViolation(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith("23");
+    }
+
+    private static long checksum(Resource resource) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = resource.getInputStream()) {
+            // Sin \r: el checksum no depende de los finales de línea del checkout
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r", "");
+            crc.update(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return crc.getValue();
+    }
+
+    record Migration(int version, String description, String fileName, Resource resource, long checksum,
+                     boolean transactional) {
+    }
+}
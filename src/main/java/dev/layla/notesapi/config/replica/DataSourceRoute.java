@@ -0,0 +1,17 @@
+package dev.layla.notesapi.config.replica;
+
+/**
+ * Pool al que va una transacción cuando el perfil replica está activo.
+ *
+ * Un método de servicio pide la réplica con
+ * {@code @Transactional(readOnly = true, label = DataSourceRoute.REPLICA_LABEL)}.
+ * Solo readOnly no basta: los repositorios de Spring Data abren sus propias
+ * transacciones readOnly (findById, findByEmail...) y esas deben seguir en la
+ * primaria. Sin el perfil replica la etiqueta se ignora.
+ */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA;
+
+    public static final String REPLICA_LABEL = "replica";
+}
@@ -0,0 +1,49 @@
+package dev.layla.notesapi.config.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Elige el pool (primaria o réplica) al pedir la conexión física.
+ *
+ * La ruta la fija {@link RoutingJpaTransactionManager} al empezar cada
+ * transacción; se guarda como pila para que una REQUIRES_NEW dentro de otra
+ * transacción no pierda la ruta de la exterior. Fuera de una transacción
+ * siempre se usa la primaria.
+ *
+ * Va envuelto en un LazyConnectionDataSourceProxy: JpaTransactionManager pide
+ * la conexión al empezar la transacción, y el proxy retrasa la conexión real
+ * hasta la primera sentencia, cuando la ruta ya está fijada.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Deque<DataSourceRoute>> ROUTES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    static void push(DataSourceRoute route) {
+        ROUTES.get().push(route);
+    }
+
+    static void pop() {
+        Deque<DataSourceRoute> routes = ROUTES.get();
+        routes.poll();
+        if (routes.isEmpty()) {
+            ROUTES.remove();
+        }
+    }
+
+    static DataSourceRoute current() {
+        DataSourceRoute route = ROUTES.get().peek();
+        if (route == null || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return DataSourceRoute.PRIMARY;
+        }
+        return route;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return current();
+    }
+}
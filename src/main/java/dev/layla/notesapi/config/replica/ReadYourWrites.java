@@ -0,0 +1,33 @@
+package dev.layla.notesapi.config.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Usuarios que han escrito hace menos de la ventana configurada.
+ *
+ * Mientras un usuario está aquí, sus lecturas van a la primaria aunque el
+ * método pida la réplica: así ve su propia escritura aunque la réplica todavía
+ * no la tenga. La ventana debe cubrir el retraso de replicación habitual.
+ */
+class ReadYourWrites {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    ReadYourWrites(Duration window, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    void recordWrite(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    boolean isPinned(Long userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
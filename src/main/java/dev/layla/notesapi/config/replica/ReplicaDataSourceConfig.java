@@ -0,0 +1,95 @@
+package dev.layla.notesapi.config.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Perfil replica: dos pools de Hikari (primaria y réplica de lectura) detrás
+ * de un único DataSource que elige el pool por transacción.
+ *
+ * - Primaria: {@code spring.datasource.*} y {@code spring.datasource.hikari.*}, como sin el perfil.
+ * - Réplica: {@code notes.datasource.replica.url/username/password} y
+ *   {@code notes.datasource.replica.hikari.*}.
+ *
+ * Van a la réplica los métodos marcados con la etiqueta
+ * {@link DataSourceRoute#REPLICA_LABEL}; todo lo demás (escrituras, lecturas de
+ * repositorio sueltas, autenticación) va a la primaria. Los pools publican sus
+ * métricas como {@code hikaricp.*} con el tag pool=primary|replica.
+ */
+@Configuration
+@Profile("replica")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("notes.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${notes.datasource.replica.url}") String url,
+            @Value("${notes.datasource.replica.username:}") String username,
+            @Value("${notes.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * El DataSource que usan JPA, la inicialización de SQL y la consola H2.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Sustituye al JpaTransactionManager de Spring Boot (que no se crea si ya hay uno).
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            EntityManagerFactory entityManagerFactory,
+            MeterRegistry meterRegistry,
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers,
+            @Value("${notes.datasource.replica.read-your-writes-window:5s}") Duration readYourWritesWindow,
+            @Value("${notes.datasource.replica.read-your-writes-max-users:100000}") long readYourWritesMaxUsers) {
+        RoutingJpaTransactionManager transactionManager = new RoutingJpaTransactionManager(entityManagerFactory,
+                new ReadYourWrites(readYourWritesWindow, readYourWritesMaxUsers), meterRegistry);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
@@ -0,0 +1,122 @@
+package dev.layla.notesapi.config.replica;
+
+import dev.layla.notesapi.auth.UserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JpaTransactionManager que fija la ruta de cada transacción nueva:
+ *
+ * - readOnly con la etiqueta {@link DataSourceRoute#REPLICA_LABEL}: réplica,
+ *   salvo que el usuario autenticado haya escrito hace poco (read-your-writes).
+ * - Cualquier otra: primaria. Al hacer commit de una transacción de escritura
+ *   se anota al usuario autenticado en {@link ReadYourWrites}.
+ *
+ * Las transacciones que se unen a otra ya abierta heredan su ruta.
+ *
+ * Las sesiones de la réplica usan {@link CacheStoreMode#BYPASS}: leen de la
+ * caché de segundo nivel pero no la rellenan (CacheMode.GET). Se fija como
+ * propiedad de la sesión y no con setCacheMode, que find() sobrescribe con las
+ * propiedades de la sesión en cada llamada. Una réplica con retraso dejaría si no una
+ * versión antigua de la fila (token_epoch, email, version de la nota) en la
+ * región compartida durante todo su TTL. Con open-in-view desactivado cada
+ * transacción abre su propia sesión, así que el modo se descarta con ella.
+ * Métrica: {@code datasource.route} (tag route: primary, replica o pinned).
+ */
+class RoutingJpaTransactionManager extends JpaTransactionManager {
+
+    private final ReadYourWrites readYourWrites;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter pinnedRoutes;
+
+    RoutingJpaTransactionManager(EntityManagerFactory entityManagerFactory, ReadYourWrites readYourWrites,
+                                 MeterRegistry meterRegistry) {
+        super(entityManagerFactory);
+        this.readYourWrites = readYourWrites;
+        this.primaryRoutes = routeCounter(meterRegistry, "primary");
+        this.replicaRoutes = routeCounter(meterRegistry, "replica");
+        this.pinnedRoutes = routeCounter(meterRegistry, "pinned");
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        DataSourceRoute route = route(definition);
+        ReadWriteRoutingDataSource.push(route);
+        try {
+            super.doBegin(transaction, definition);
+            if (route == DataSourceRoute.REPLICA) {
+                EntityManagerHolder holder =
+                        (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+                holder.getEntityManager().setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE,
+                        CacheStoreMode.BYPASS);
+            }
+        } catch (RuntimeException | Error e) {
+            ReadWriteRoutingDataSource.pop();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            Long userId = currentUserId();
+            if (userId != null) {
+                readYourWrites.recordWrite(userId);
+            }
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            ReadWriteRoutingDataSource.pop();
+        }
+    }
+
+    private DataSourceRoute route(TransactionDefinition definition) {
+        boolean wantsReplica = definition.isReadOnly()
+                && definition instanceof TransactionAttribute attribute
+                && attribute.getLabels().contains(DataSourceRoute.REPLICA_LABEL);
+        if (!wantsReplica) {
+            primaryRoutes.increment();
+            return DataSourceRoute.PRIMARY;
+        }
+        Long userId = currentUserId();
+        if (userId != null && readYourWrites.isPinned(userId)) {
+            pinnedRoutes.increment();
+            return DataSourceRoute.PRIMARY;
+        }
+        replicaRoutes.increment();
+        return DataSourceRoute.REPLICA;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("datasource.route")
+                .description("New transactions by the pool they were routed to")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
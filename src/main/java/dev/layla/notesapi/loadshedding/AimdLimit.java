@@ -0,0 +1,115 @@
+package dev.layla.notesapi.loadshedding;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Límite de concurrencia adaptativo AIMD (additive increase, multiplicative decrease).
+ *
+ * - Si una petición tarda más que el umbral de latencia o termina con error 5xx,
+ *   el límite se multiplica por backoffRatio (como mucho una vez por "ida y
+ *   vuelta": solo cuentan las peticiones admitidas después de la última bajada,
+ *   para que una tanda de respuestas lentas no lo hunda de golpe).
+ * - Si termina bien y el límite se estaba usando (al menos la mitad ocupada),
+ *   sube 1/limit: +1 por cada limit peticiones.
+ *
+ * Todo el estado son atómicos (el límite se guarda como los bits de un double),
+ * sin locks en el camino de cada petición.
+ */
+final class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final AtomicLong limitBits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDecrease = new AtomicLong(Long.MIN_VALUE);
+
+    AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("invalid AIMD limit configuration");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(Math.min(maxLimit, Math.max(minLimit, initialLimit))));
+    }
+
+    /**
+     * Ocupa una plaza si hay menos de limit * share peticiones en curso
+     * (siempre al menos una plaza por prioridad).
+     */
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit() * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera la plaza y ajusta el límite con el resultado de la petición.
+     *
+     * @param startNanos    System.nanoTime() al admitirla
+     * @param endNanos      System.nanoTime() al terminar
+     * @param failed        Si terminó con un error del servidor
+     * @param latencySignal Si su duración dice algo de la carga. Las peticiones
+     *                      largas por naturaleza (export, import, respuestas
+     *                      asíncronas) solo bajan el límite si fallan y nunca lo suben.
+     */
+    void release(long startNanos, long endNanos, boolean failed, boolean latencySignal) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (failed || latencySignal && endNanos - startNanos > latencyThresholdNanos) {
+            decrease(startNanos, endNanos);
+        } else if (latencySignal) {
+            increase(inFlightBefore);
+        }
+    }
+
+    double limit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void decrease(long startNanos, long now) {
+        long last = lastDecrease.get();
+        if (last != Long.MIN_VALUE && startNanos - last < 0) {
+            // Admitida antes de la última bajada: ya se tuvo en cuenta
+            return;
+        }
+        if (!lastDecrease.compareAndSet(last, now)) {
+            return;
+        }
+        update(limit -> Math.max(minLimit, limit * backoffRatio));
+    }
+
+    private void increase(int inFlightBefore) {
+        double limit = limit();
+        if (inFlightBefore * 2 < limit || limit >= maxLimit) {
+            return;
+        }
+        update(current -> Math.min(maxLimit, current + 1 / current));
+    }
+
+    private void update(DoubleUnaryOperator change) {
+        while (true) {
+            long currentBits = limitBits.get();
+            double next = change.applyAsDouble(Double.longBitsToDouble(currentBits));
+            if (limitBits.compareAndSet(currentBits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package dev.layla.notesapi.loadshedding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.layla.notesapi.common.GlobalExceptionHandler.ApiError;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Aplica {@link ConcurrencyLimiter} a /notes/** y /users/** antes de Spring
+ * Security: una petición rechazada no llega a validar el JWT ni a pedir conexión.
+ *
+ * El rechazo es un 503 inmediato con Retry-After: 1. Las peticiones asíncronas
+ * (p. ej. /notes/export) ocupan su plaza hasta que termina la respuesta, pero
+ * su duración, como la de las EXPENSIVE, no baja el límite.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !limiter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RequestPriority priority = RequestPriority.of(request);
+        if (!limiter.tryAcquire(priority)) {
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        Release release = new Release(start, response, priority != RequestPriority.EXPENSIVE);
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            release.run(true);
+            throw e;
+        }
+
+        if (request.isAsyncStarted()) {
+            // Dura lo que tarde en escribirse la respuesta, no lo que tarda el servidor
+            release.latencySignal = false;
+            request.getAsyncContext().addListener(release);
+        } else {
+            release.run(false);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiError(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Server is busy, retry later",
+                LocalDateTime.now()));
+    }
+
+    /**
+     * Libera la plaza una sola vez, al terminar la petición (síncrona o asíncrona).
+     */
+    private final class Release implements AsyncListener {
+
+        private final long start;
+        private final HttpServletResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean latencySignal;
+
+        Release(long start, HttpServletResponse response, boolean latencySignal) {
+            this.start = start;
+            this.response = response;
+            this.latencySignal = latencySignal;
+        }
+
+        void run(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(start, failed || response.getStatus() >= 500, latencySignal);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run(false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dev.layla.notesapi.loadshedding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Límite de concurrencia adaptativo delante de los controllers de notas y usuarios.
+ *
+ * Cuando la BD se ralentiza, las peticiones tardan más, el límite baja
+ * ({@link AimdLimit}) y lo que no cabe se rechaza al momento con 503 en lugar
+ * de esperar un hilo de Tomcat o una conexión de Hikari. Cuando la latencia
+ * vuelve a estar bajo {@code load-shedding.latency-threshold}, el límite sube.
+ * Solo las peticiones CHEAP y STANDARD síncronas aportan latencia: un export o
+ * un import tarda por su tamaño, no por la carga, y solo cuenta si falla.
+ * Las prioridades ({@link RequestPriority}) reparten el límite.
+ *
+ * Métricas: {@code loadshedding.limit}, {@code loadshedding.inflight} y
+ * {@code loadshedding.rejected} (tag priority).
+ */
+@Component
+public class ConcurrencyLimiter {
+
+    private final boolean enabled;
+    private final AimdLimit limit;
+    private final Map<RequestPriority, Double> shares = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+
+    public ConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${load-shedding.enabled:true}") boolean enabled,
+            @Value("${load-shedding.initial-limit:20}") int initialLimit,
+            @Value("${load-shedding.min-limit:4}") int minLimit,
+            @Value("${load-shedding.max-limit:150}") int maxLimit,
+            @Value("${load-shedding.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${load-shedding.latency-threshold:500ms}") Duration latencyThreshold,
+            @Value("${load-shedding.share.standard:0.8}") double standardShare,
+            @Value("${load-shedding.share.expensive:0.5}") double expensiveShare) {
+        this.enabled = enabled;
+        this.limit = new AimdLimit(initialLimit, minLimit, maxLimit, backoffRatio, latencyThreshold.toNanos());
+        shares.put(RequestPriority.CHEAP, 1.0);
+        shares.put(RequestPriority.STANDARD, standardShare);
+        shares.put(RequestPriority.EXPENSIVE, expensiveShare);
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejected.put(priority, Counter.builder("loadshedding.rejected")
+                    .description("Requests rejected with 503 by the concurrency limit")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("loadshedding.limit", limit, AimdLimit::limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("loadshedding.inflight", limit, AimdLimit::inFlight)
+                .description("Requests currently admitted by the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true si la petición entra; entonces hay que llamar a {@link #release}
+     */
+    public boolean tryAcquire(RequestPriority priority) {
+        if (limit.tryAcquire(shares.get(priority))) {
+            return true;
+        }
+        rejected.get(priority).increment();
+        return false;
+    }
+
+    /**
+     * @param latencySignal false si la duración de la petición no debe mover el
+     *                      límite (peticiones caras o asíncronas): solo cuenta si falló
+     */
+    public void release(long startNanos, boolean failed, boolean latencySignal) {
+        limit.release(startNanos, System.nanoTime(), failed, latencySignal);
+    }
+}
@@ -0,0 +1,33 @@
+package dev.layla.notesapi.loadshedding;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.regex.Pattern;
+
+/**
+ * Prioridad de una petición ante el límite de concurrencia.
+ *
+ * Cada prioridad solo puede ocupar una parte del límite
+ * ({@code load-shedding.share.<prioridad>}): al acercarse a la saturación se
+ * rechazan primero las peticiones caras y las lecturas baratas siguen entrando.
+ */
+public enum RequestPriority {
+    /** GET/HEAD de una nota o un usuario por id: una lectura por PK (o de caché). */
+    CHEAP,
+    /** Listados y escrituras. */
+    STANDARD,
+    /** Búsqueda, export, import y batch: muchas filas o mucho tiempo por petición. */
+    EXPENSIVE;
+
+    private static final Pattern SINGLE_RESOURCE = Pattern.compile("^/(notes|users)/\\d+$");
+
+    static RequestPriority of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/notes/search") || path.startsWith("/notes/export")
+                || path.startsWith("/notes/import") || path.startsWith("/notes/batch")) {
+            return EXPENSIVE;
+        }
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        return read && SINGLE_RESOURCE.matcher(path).matches() ? CHEAP : STANDARD;
+    }
+}
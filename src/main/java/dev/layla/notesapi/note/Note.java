@@ -2,14 +2,31 @@ package dev.layla.notesapi.note;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import dev.layla.notesapi.common.id.TsidId;
+import dev.layla.notesapi.config.EntityCacheConfig;
 import dev.layla.notesapi.user.User;
-
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Las notas se cachean en la caché de segundo nivel (región "notes"): findById
+ * no va a la BD si la nota está en caché. READ_WRITE mantiene la caché
+ * coherente con las actualizaciones y borrados hechos con la entidad; un
+ * UPDATE/DELETE masivo (JPQL) invalida la región completa.
+ */
 @Entity
 @Table(name = "notes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.NOTES_REGION)
 public class Note {
 
+    /**
+     * Id de 64 bits ordenado por tiempo, generado en el proceso (TsidFactory):
+     * sin round-trip por INSERT, con batching JDBC y sin secuencia central.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TsidId
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -21,9 +38,24 @@ public class Note {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Última modificación. Null en filas anteriores a la columna
+     * (la migración V1 las rellena con createdAt).
+     */
+    private LocalDateTime updatedAt;
+
     @Column(nullable = false)
     private boolean archived = false;
 
+    /**
+     * Versión para bloqueo optimista; se incrementa en cada modificación.
+     * Es también el ETag de GET /notes/{id}.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User owner;
@@ -37,6 +69,7 @@ public class Note {
         this.title = title;
         this.content = content;
         this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
         this.archived = false;
         this.owner = owner;
     }
@@ -57,6 +90,14 @@ public class Note {
         return createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
     public User getOwner() {
         return owner;
     }
@@ -80,4 +121,9 @@ public class Note {
     public void setArchived(boolean archived) {
         this.archived = archived;
     }
+
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
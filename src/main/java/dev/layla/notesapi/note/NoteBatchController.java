@@ -0,0 +1,54 @@
+package dev.layla.notesapi.note;
+
+import dev.layla.notesapi.auth.UserPrincipal;
+import dev.layla.notesapi.note.dto.BatchCreateNotesRequest;
+import dev.layla.notesapi.note.dto.BatchDeleteNotesRequest;
+import dev.layla.notesapi.note.dto.BatchResponse;
+import dev.layla.notesapi.note.dto.BatchUpdateNotesRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Endpoints batch para sincronizar muchas notas en una sola petición.
+ * La respuesta siempre es 200 con un resultado por elemento (ver BatchItemResult).
+ */
+@RestController
+@RequestMapping("/notes/batch")
+@Tag(name = "Notes", description = "Gestión de notas del usuario autenticado")
+@SecurityRequirement(name = "bearerAuth")
+public class NoteBatchController {
+
+    private final NoteBatchService noteBatchService;
+
+    public NoteBatchController(NoteBatchService noteBatchService) {
+        this.noteBatchService = noteBatchService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Crear notas en batch", description = "Crea hasta 500 notas en una transacción")
+    public BatchResponse create(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Valid @RequestBody BatchCreateNotesRequest request) {
+        return noteBatchService.createForUser(currentUser.getId(), request.notes());
+    }
+
+    @PatchMapping
+    @Operation(summary = "Actualizar notas en batch", description = "Actualiza hasta 500 notas del usuario en una transacción")
+    public BatchResponse update(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Valid @RequestBody BatchUpdateNotesRequest request) {
+        return noteBatchService.updateForUser(currentUser.getId(), request.notes());
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Eliminar notas en batch", description = "Elimina hasta 500 notas del usuario en una transacción")
+    public BatchResponse delete(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Valid @RequestBody BatchDeleteNotesRequest request) {
+        return noteBatchService.deleteForUser(currentUser.getId(), request.ids());
+    }
+}
@@ -0,0 +1,205 @@
+package dev.layla.notesapi.note;
+
+import dev.layla.notesapi.note.dto.BatchItemResult;
+import dev.layla.notesapi.note.dto.BatchResponse;
+import dev.layla.notesapi.note.dto.BatchUpdateNoteItem;
+import dev.layla.notesapi.note.dto.CreateNoteRequest;
+import dev.layla.notesapi.note.search.NoteIndexer;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import dev.layla.notesapi.user.exception.UserNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Operaciones batch sobre las notas del usuario autenticado.
+ *
+ * Cada operación corre en una sola transacción y hace un número fijo de
+ * queries, sin importar cuántos elementos tenga el batch:
+ * - Crear: los ids se generan en memoria (@TsidId) y los INSERT se envían
+ *   en batches JDBC al hacer flush (hibernate.jdbc.batch_size).
+ * - Actualizar: una SELECT de las notas del usuario; los UPDATE se agrupan
+ *   por dirty checking (hibernate.order_updates).
+ * - Borrar: una SELECT de las notas del usuario y un DELETE por nota, enviados
+ *   en batches JDBC. Así cada borrado solo invalida su entrada de la caché de
+ *   segundo nivel (un DELETE JPQL invalidaría la región "notes" completa).
+ *
+ * Los elementos inválidos o ajenos se reportan en su resultado (400, 403, 404)
+ * y no impiden procesar el resto.
+ */
+@Service
+public class NoteBatchService {
+
+    private final NoteRepository noteRepository;
+    private final UserRepository userRepository;
+    private final NoteIndexer noteIndexer;
+    private final Validator validator;
+
+    public NoteBatchService(NoteRepository noteRepository, UserRepository userRepository,
+                            NoteIndexer noteIndexer, Validator validator) {
+        this.noteRepository = noteRepository;
+        this.userRepository = userRepository;
+        this.noteIndexer = noteIndexer;
+        this.validator = validator;
+    }
+
+    @Transactional
+    public BatchResponse createForUser(Long userId, List<CreateNoteRequest> requests) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        // Referencia sin SELECT: solo se necesita la FK
+        User owner = userRepository.getReferenceById(userId);
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Note> notes = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateNoteRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results[i] = BatchItemResult.failed(i, null, HttpStatus.BAD_REQUEST.value(), error);
+                continue;
+            }
+            notes.add(new Note(request.title(), request.content(), owner));
+            positions.add(i);
+        }
+
+        noteRepository.saveAll(notes);
+
+        for (int j = 0; j < notes.size(); j++) {
+            Note note = notes.get(j);
+            results[positions.get(j)] = BatchItemResult.ok(positions.get(j), note.getId(), HttpStatus.CREATED.value());
+            noteIndexer.index(note);
+        }
+        return BatchResponse.of(Arrays.asList(results));
+    }
+
+    @Transactional
+    public BatchResponse updateForUser(Long userId, List<BatchUpdateNoteItem> items) {
+        Set<Long> ids = items.stream()
+                .filter(Objects::nonNull)
+                .map(BatchUpdateNoteItem::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, Note> owned = ids.isEmpty() ? Map.of() : noteRepository.findAllByIdInAndOwnerId(ids, userId)
+                .stream()
+                .collect(Collectors.toMap(Note::getId, Function.identity()));
+        Set<Long> existing = existingIds(ids, owned.keySet());
+
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        Set<Note> updated = new LinkedHashSet<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            BatchUpdateNoteItem item = items.get(i);
+            String error = validate(item);
+            if (error != null) {
+                results[i] = BatchItemResult.failed(i, item == null ? null : item.id(), HttpStatus.BAD_REQUEST.value(), error);
+                continue;
+            }
+
+            Note note = owned.get(item.id());
+            if (note == null) {
+                results[i] = notOwned(i, userId, item.id(), existing);
+                continue;
+            }
+
+            if (item.title() != null && !item.title().isBlank()) {
+                note.setTitle(item.title());
+            }
+            if (item.content() != null) {
+                note.setContent(item.content());
+            }
+            if (item.archived() != null) {
+                note.setArchived(item.archived());
+            }
+            updated.add(note);
+            results[i] = BatchItemResult.ok(i, note.getId(), HttpStatus.OK.value());
+        }
+
+        // Los UPDATE se ejecutan en el flush del commit
+        updated.forEach(noteIndexer::index);
+        return BatchResponse.of(Arrays.asList(results));
+    }
+
+    @Transactional
+    public BatchResponse deleteForUser(Long userId, List<Long> ids) {
+        Set<Long> requested = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+
+        List<Note> notes = requested.isEmpty() ? List.of() : noteRepository.findAllByIdInAndOwnerId(requested, userId);
+        noteRepository.deleteAll(notes);
+        Set<Long> owned = notes.stream().map(Note::getId).collect(Collectors.toSet());
+        Set<Long> existing = existingIds(requested, owned);
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(BatchItemResult.failed(i, null, HttpStatus.BAD_REQUEST.value(), "id is required"));
+            } else if (owned.contains(id)) {
+                results.add(BatchItemResult.ok(i, id, HttpStatus.NO_CONTENT.value()));
+            } else {
+                results.add(notOwned(i, userId, id, existing));
+            }
+        }
+
+        owned.forEach(id -> noteIndexer.remove(userId, id));
+        return BatchResponse.of(results);
+    }
+
+    // ==================== AUXILIARES ====================
+
+    /**
+     * De los ids que no son del usuario, cuáles existen (403) y cuáles no (404).
+     * Solo hace la query si hay alguno que no sea del usuario.
+     */
+    private Set<Long> existingIds(Set<Long> requested, Collection<Long> owned) {
+        Set<Long> others = new HashSet<>(requested);
+        others.removeAll(owned);
+        return others.isEmpty() ? Set.of() : new HashSet<>(noteRepository.findExistingIds(others));
+    }
+
+    /**
+     * Mismos mensajes que NoteAccessDeniedException y NoteNotFoundException.
+     */
+    private BatchItemResult notOwned(int index, Long userId, Long id, Set<Long> existing) {
+        return existing.contains(id)
+                ? BatchItemResult.failed(index, id, HttpStatus.FORBIDDEN.value(), "User " + userId + " is not allowed to access note " + id)
+                : BatchItemResult.failed(index, id, HttpStatus.NOT_FOUND.value(), "Note with id " + id + " was not found");
+    }
+
+    /**
+     * Valida un elemento con las mismas anotaciones que el endpoint individual.
+     * Devuelve null si es válido.
+     */
+    private String validate(Object item) {
+        if (item == null) {
+            return "item is required";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
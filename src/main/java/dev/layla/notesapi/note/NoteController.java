@@ -1,25 +1,37 @@
 package dev.layla.notesapi.note;
 
+import dev.layla.notesapi.common.CursorPage;
 import dev.layla.notesapi.note.dto.CreateNoteRequest;
 import dev.layla.notesapi.note.dto.NoteResponse;
-import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.note.dto.NoteSummaryResponse;
+import dev.layla.notesapi.auth.UserPrincipal;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import dev.layla.notesapi.note.dto.UpdateNoteRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 
 /**
  * Controller para gestión de notas.
  * Todos los endpoints requieren autenticación JWT.
  * Las notas solo son accesibles por su propietario.
+ *
+ * Peticiones condicionales (ver {@link NoteETags}):
+ * - GET /notes/{id} devuelve un ETag fuerte (la versión de la nota); con
+ *   If-None-Match responde 304 sin leer ni serializar el contenido.
+ * - GET /notes devuelve un ETag débil por página; Spring responde 304 sin
+ *   serializar el cuerpo si coincide con If-None-Match.
+ * - PUT /notes/{id} con If-Match solo actualiza si la versión coincide (412 si no).
  */
 @RestController
 @RequestMapping("/notes")
@@ -41,7 +53,7 @@ public class NoteController {
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Crear nota", description = "Crea una nueva nota para el usuario autenticado")
     public NoteResponse create(
-            @AuthenticationPrincipal User currentUser,
+            @AuthenticationPrincipal UserPrincipal currentUser,
             @Valid @RequestBody CreateNoteRequest request) {
         return noteService.createForUser(currentUser.getId(), request);
     }
@@ -51,12 +63,53 @@ public class NoteController {
      */
     @GetMapping
     @Operation(summary = "Listar mis notas", description = "Obtiene todas las notas del usuario autenticado")
-    public Page<NoteResponse> getMyNotes(
-            @AuthenticationPrincipal User currentUser,
+    public ResponseEntity<Page<NoteSummaryResponse>> getMyNotes(
+            @AuthenticationPrincipal UserPrincipal currentUser,
             @Parameter(description = "Filtrar por estado de archivo")
             @RequestParam(required = false) Boolean archived,
             @PageableDefault(size = 10) Pageable pageable) {
-        return noteService.getAll(currentUser.getId(), archived, pageable);
+        Page<NoteSummaryResponse> page = noteService.getAll(currentUser.getId(), archived, pageable);
+        return ResponseEntity.ok()
+                .eTag(NoteETags.weak(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(),
+                        page.getSort()))
+                .body(page);
+    }
+
+    /**
+     * Variante de GET /notes sin total (?count=false): devuelve un Slice
+     * y se ahorra el COUNT(*). Pensado para scroll infinito.
+     */
+    @GetMapping(params = {"count=false", "!cursor"})
+    @Operation(summary = "Listar mis notas (sin total)", description = "Igual que el listado paginado, pero sin calcular el total")
+    public ResponseEntity<Slice<NoteSummaryResponse>> getMyNotesSlice(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Parameter(description = "Filtrar por estado de archivo")
+            @RequestParam(required = false) Boolean archived,
+            @PageableDefault(size = 10) Pageable pageable) {
+        Slice<NoteSummaryResponse> slice = noteService.getAllSlice(currentUser.getId(), archived, pageable);
+        return ResponseEntity.ok()
+                .eTag(NoteETags.weak(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(),
+                        slice.getSort()))
+                .body(slice);
+    }
+
+    /**
+     * Variante paginada por cursor de GET /notes (se elige al enviar "cursor").
+     * Un cursor vacío pide la primera página.
+     */
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Listar mis notas (cursor)", description = "Paginación por cursor: usar next/prev de la respuesta anterior")
+    public ResponseEntity<CursorPage<NoteSummaryResponse>> getMyNotesByCursor(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Parameter(description = "Filtrar por estado de archivo")
+            @RequestParam(required = false) Boolean archived,
+            @Parameter(description = "Cursor opaco (vacío para la primera página)")
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorPage<NoteSummaryResponse> page = noteService.getAll(currentUser.getId(), archived, cursor, size);
+        return ResponseEntity.ok()
+                .eTag(NoteETags.weak(page.content(), page.size(), page.next(), page.prev()))
+                .body(page);
     }
 
     /**
@@ -64,35 +117,78 @@ public class NoteController {
      */
     @GetMapping("/search")
     @Operation(summary = "Buscar mis notas", description = "Busca en las notas del usuario autenticado por título o contenido")
-    public Page<NoteResponse> searchMyNotes(
-            @AuthenticationPrincipal User currentUser,
+    public Page<NoteSummaryResponse> searchMyNotes(
+            @AuthenticationPrincipal UserPrincipal currentUser,
             @Parameter(description = "Texto a buscar en título o contenido")
             @RequestParam String query,
             @PageableDefault(size = 10) Pageable pageable) {
         return noteService.search(query, currentUser.getId(), pageable);
     }
 
+    /**
+     * Variante de GET /notes/search sin total (?count=false).
+     */
+    @GetMapping(value = "/search", params = {"count=false", "!cursor"})
+    @Operation(summary = "Buscar mis notas (sin total)", description = "Igual que la búsqueda paginada, pero sin calcular el total")
+    public Slice<NoteSummaryResponse> searchMyNotesSlice(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Parameter(description = "Texto a buscar en título o contenido")
+            @RequestParam String query,
+            @PageableDefault(size = 10) Pageable pageable) {
+        return noteService.searchSlice(query, currentUser.getId(), pageable);
+    }
+
+    /**
+     * Variante paginada por cursor de GET /notes/search.
+     */
+    @GetMapping(value = "/search", params = "cursor")
+    @Operation(summary = "Buscar mis notas (cursor)", description = "Búsqueda paginada por cursor, de la nota más reciente a la más antigua")
+    public CursorPage<NoteSummaryResponse> searchMyNotesByCursor(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Parameter(description = "Texto a buscar en título o contenido")
+            @RequestParam String query,
+            @Parameter(description = "Cursor opaco (vacío para la primera página)")
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return noteService.search(query, currentUser.getId(), cursor, size);
+    }
+
     /**
      * Obtiene una nota por ID (solo si pertenece al usuario autenticado).
+     * Con If-None-Match se compara la versión de la nota (leída por id,
+     * normalmente de la caché de entidades) en la misma transacción que la
+     * lee: si no cambió, 304 sin cuerpo.
      */
     @GetMapping("/{id}")
     @Operation(summary = "Obtener nota", description = "Obtiene una nota por su ID (debe ser del usuario autenticado)")
-    public NoteResponse getById(
-            @AuthenticationPrincipal User currentUser,
-            @PathVariable Long id) {
-        return noteService.getByIdForUser(currentUser.getId(), id);
+    public ResponseEntity<NoteResponse> getById(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            NoteRevalidation revalidation = noteService.revalidateForUser(currentUser.getId(), id, ifNoneMatch);
+            if (revalidation.notModified()) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(NoteETags.strong(revalidation.version())).build();
+            }
+            return ResponseEntity.ok().eTag(NoteETags.strong(revalidation.version())).body(revalidation.note());
+        }
+        NoteResponse note = noteService.getByIdForUser(currentUser.getId(), id);
+        return ResponseEntity.ok().eTag(NoteETags.strong(note.version())).body(note);
     }
 
     /**
      * Actualiza una nota (solo si pertenece al usuario autenticado).
+     * Con If-Match solo se actualiza si la nota sigue en esa versión (412 si no).
      */
     @PutMapping("/{id}")
     @Operation(summary = "Actualizar nota", description = "Actualiza una nota existente (debe ser del usuario autenticado)")
-    public NoteResponse update(
-            @AuthenticationPrincipal User currentUser,
+    public ResponseEntity<NoteResponse> update(
+            @AuthenticationPrincipal UserPrincipal currentUser,
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateNoteRequest request) {
-        return noteService.updateForUser(currentUser.getId(), id, request);
+        NoteResponse note = noteService.updateForUser(currentUser.getId(), id, request, ifMatch);
+        return ResponseEntity.ok().eTag(NoteETags.strong(note.version())).body(note);
     }
 
     /**
@@ -102,7 +198,7 @@ public class NoteController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "Eliminar nota", description = "Elimina una nota por su ID (debe ser del usuario autenticado)")
     public void delete(
-            @AuthenticationPrincipal User currentUser,
+            @AuthenticationPrincipal UserPrincipal currentUser,
             @PathVariable Long id) {
         noteService.deleteForUser(currentUser.getId(), id);
     }
@@ -0,0 +1,48 @@
+package dev.layla.notesapi.note;
+
+import dev.layla.notesapi.note.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Cursor de paginación keyset sobre (createdAt, id), en orden descendente.
+ *
+ * Se serializa como Base64 URL-safe para que el cliente lo trate como opaco.
+ * NEXT apunta a la última nota de la página (lo siguiente es más antiguo);
+ * PREV apunta a la primera (lo anterior es más reciente).
+ */
+public record NoteCursor(Direction direction, LocalDateTime createdAt, Long id) {
+
+    public enum Direction { NEXT, PREV }
+
+    public static NoteCursor next(NoteSummary note) {
+        return new NoteCursor(Direction.NEXT, note.createdAt(), note.id());
+    }
+
+    public static NoteCursor prev(NoteSummary note) {
+        return new NoteCursor(Direction.PREV, note.createdAt(), note.id());
+    }
+
+    public String encode() {
+        String raw = direction.name() + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NoteCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new NoteCursor(
+                    Direction.valueOf(parts[0]),
+                    LocalDateTime.parse(parts[1]),
+                    Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package dev.layla.notesapi.note;
+
+import dev.layla.notesapi.note.dto.NoteSummaryResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * ETags de notas.
+ *
+ * - Una nota: ETag fuerte con su versión ("3"). La versión cambia con
+ *   cualquier modificación, así que la representación es idéntica byte a byte
+ *   mientras no cambie.
+ * - Una página de un listado: ETag débil (W/"...") con un digest de los pares
+ *   (id, versión) y de los datos de paginación. Cambia si cambia, entra o sale
+ *   alguna nota de la página.
+ */
+final class NoteETags {
+
+    private NoteETags() {
+    }
+
+    static String strong(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @param page Datos de paginación que también forman parte de la respuesta
+     *             (número, tamaño, total, cursores...)
+     */
+    static String weak(List<NoteSummaryResponse> notes, Object... page) {
+        StringBuilder state = new StringBuilder();
+        for (Object part : page) {
+            state.append(part).append('|');
+        }
+        for (NoteSummaryResponse note : notes) {
+            state.append(note.id()).append(':').append(note.version()).append(',');
+        }
+        return "W/\"" + digest(state.toString()) + "\"";
+    }
+
+    /**
+     * If-Match: comparación fuerte (los ETags débiles nunca coinciden); "*" coincide siempre.
+     */
+    static boolean matchesStrongly(String header, long version) {
+        String etag = strong(version);
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-None-Match: comparación débil (se ignora el prefijo W/); "*" coincide siempre.
+     */
+    static boolean matchesWeakly(String header, long version) {
+        String etag = strong(version);
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String digest(String state) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(state.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package dev.layla.notesapi.note;
+
+import dev.layla.notesapi.auth.UserPrincipal;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Exportación de todas las notas del usuario autenticado.
+ */
+@RestController
+@RequestMapping("/notes/export")
+@Tag(name = "Notes", description = "Gestión de notas del usuario autenticado")
+@SecurityRequirement(name = "bearerAuth")
+public class NoteExportController {
+
+    private final NoteExportService noteExportService;
+
+    public NoteExportController(NoteExportService noteExportService) {
+        this.noteExportService = noteExportService;
+    }
+
+    /**
+     * Devuelve las notas como NDJSON (una nota JSON por línea) a medida que
+     * se leen de la BD, sin cargarlas todas en memoria.
+     */
+    @GetMapping
+    @Operation(summary = "Exportar mis notas", description = "Descarga todas las notas del usuario como NDJSON")
+    public ResponseEntity<StreamingResponseBody> export(@AuthenticationPrincipal UserPrincipal currentUser) {
+        Long userId = currentUser.getId();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"notes.ndjson\"")
+                .body(out -> noteExportService.exportForUser(userId, out));
+    }
+}
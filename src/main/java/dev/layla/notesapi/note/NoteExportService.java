@@ -0,0 +1,82 @@
+package dev.layla.notesapi.note;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.layla.notesapi.note.dto.NoteResponse;
+import dev.layla.notesapi.note.mapper.NoteMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exporta las notas de un usuario como NDJSON (un NoteResponse por línea).
+ *
+ * Las notas se leen con un Stream de la BD (fetch size acotado) y cada una se
+ * separa del persistence context después de escribirla, así que la memoria
+ * usada no depende de cuántas notas tenga el usuario.
+ */
+@Service
+public class NoteExportService {
+
+    /**
+     * Cada cuántas notas se hace flush de la respuesta al cliente.
+     */
+    private static final int FLUSH_EVERY = 100;
+
+    private final NoteRepository noteRepository;
+    private final NoteMapper noteMapper;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public NoteExportService(NoteRepository noteRepository, NoteMapper noteMapper, EntityManager entityManager,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.noteRepository = noteRepository;
+        this.noteMapper = noteMapper;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writerFor(NoteResponse.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Escribe todas las notas del usuario en {@code out}, ordenadas por id.
+     * Se llama desde el StreamingResponseBody (fuera del hilo de la petición),
+     * por eso abre su propia transacción de solo lectura.
+     */
+    public void exportForUser(Long userId, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            // Las notas exportadas no entran en la caché de segundo nivel: desplazarían
+            // las que se están usando. Un hint de la query no basta, porque con un Stream
+            // las entidades se cargan al iterar, cuando Hibernate ya restauró el modo de la sesión.
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            try (Stream<Note> notes = noteRepository.streamAllByOwnerId(userId)) {
+                Iterator<Note> iterator = notes.iterator();
+                int written = 0;
+                while (iterator.hasNext()) {
+                    Note note = iterator.next();
+                    out.write(writer.writeValueAsBytes(noteMapper.toResponse(note)));
+                    out.write('\n');
+                    entityManager.detach(note);
+
+                    if (++written % FLUSH_EVERY == 0) {
+                        out.flush();
+                    }
+                }
+                out.flush();
+            } catch (IOException e) {
+                // El cliente cortó la descarga: se cierra el cursor y termina la transacción
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
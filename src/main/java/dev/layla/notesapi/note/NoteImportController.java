@@ -0,0 +1,43 @@
+package dev.layla.notesapi.note;
+
+import dev.layla.notesapi.auth.UserPrincipal;
+import dev.layla.notesapi.note.dto.NoteImportResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Importación masiva de notas para el usuario autenticado.
+ */
+@RestController
+@RequestMapping("/notes/import")
+@Tag(name = "Notes", description = "Gestión de notas del usuario autenticado")
+@SecurityRequirement(name = "bearerAuth")
+public class NoteImportController {
+
+    private final NoteImportService noteImportService;
+
+    public NoteImportController(NoteImportService noteImportService) {
+        this.noteImportService = noteImportService;
+    }
+
+    /**
+     * Recibe NDJSON (una nota {"title": ..., "content": ...} por línea) y lo
+     * procesa a medida que llega. El formato de GET /notes/export también sirve.
+     */
+    @PostMapping(consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Importar notas", description = "Importa notas desde NDJSON, guardándolas en lotes")
+    public NoteImportResponse importNotes(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            InputStream body) throws IOException {
+        return noteImportService.importForUser(currentUser.getId(), body);
+    }
+}
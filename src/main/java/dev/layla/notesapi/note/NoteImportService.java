@@ -0,0 +1,190 @@
+package dev.layla.notesapi.note;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.layla.notesapi.note.dto.CreateNoteRequest;
+import dev.layla.notesapi.note.dto.NoteImportError;
+import dev.layla.notesapi.note.dto.NoteImportResponse;
+import dev.layla.notesapi.note.search.NoteIndexer;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import dev.layla.notesapi.user.exception.UserNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importa notas desde NDJSON (un CreateNoteRequest por línea).
+ *
+ * El cuerpo se lee registro a registro con un MappingIterator de Jackson: nunca
+ * se carga entero en memoria. Los registros válidos se guardan en lotes de
+ * {@code notes.import.chunk-size}, cada uno en su propia transacción; después
+ * de cada lote se limpia el persistence context. Un lote que falla no deshace
+ * los anteriores.
+ */
+@Service
+public class NoteImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(NoteImportService.class);
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final NoteRepository noteRepository;
+    private final UserRepository userRepository;
+    private final NoteIndexer noteIndexer;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ObjectReader reader;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notes.import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    public NoteImportService(NoteRepository noteRepository, UserRepository userRepository, NoteIndexer noteIndexer,
+                             Validator validator, EntityManager entityManager, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.noteRepository = noteRepository;
+        this.userRepository = userRepository;
+        this.noteIndexer = noteIndexer;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.reader = objectMapper.readerFor(CreateNoteRequest.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public NoteImportResponse importForUser(Long userId, InputStream body) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        // Una sola referencia (sin SELECT) para todas las notas: solo se usa su FK
+        User owner = userRepository.getReferenceById(userId);
+
+        Progress progress = new Progress();
+        List<CreateNoteRequest> chunk = new ArrayList<>(chunkSize);
+
+        try (MappingIterator<CreateNoteRequest> records = reader.readValues(body)) {
+            while (true) {
+                CreateNoteRequest request;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    request = records.nextValue();
+                } catch (JsonParseException e) {
+                    // JSON mal formado: el parser no puede resincronizarse
+                    progress.fail(++progress.processed, "Malformed JSON: " + e.getOriginalMessage());
+                    progress.completed = false;
+                    break;
+                } catch (JsonMappingException e) {
+                    // Tipos incorrectos: se descarta el registro y se sigue con el siguiente
+                    progress.fail(++progress.processed, "Invalid record: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                long record = ++progress.processed;
+                String error = validate(request);
+                if (error != null) {
+                    progress.fail(record, error);
+                    continue;
+                }
+
+                chunk.add(request);
+                if (chunk.size() >= chunkSize) {
+                    saveChunk(owner, chunk, record, progress);
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            saveChunk(owner, chunk, progress.processed, progress);
+        }
+
+        log.info("Import for user {}: {} records, {} imported, {} failed",
+                userId, progress.processed, progress.imported, progress.failed);
+        return new NoteImportResponse(progress.processed, progress.imported, progress.failed,
+                progress.completed, progress.errors);
+    }
+
+    /**
+     * Guarda un lote en su propia transacción y vacía el persistence context,
+     * así la memoria usada no crece con el tamaño del import.
+     * Con CacheMode.IGNORE los INSERT no llenan la caché de segundo nivel con
+     * notas que nadie ha pedido todavía.
+     */
+    private void saveChunk(User owner, List<CreateNoteRequest> chunk, long lastRecord, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Sin restaurar: la caché se actualiza al terminar la transacción y
+                // también tiene que ver CacheMode.IGNORE
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                List<Note> notes = new ArrayList<>(chunk.size());
+                for (CreateNoteRequest request : chunk) {
+                    notes.add(new Note(request.title(), request.content(), owner));
+                }
+                noteRepository.saveAll(notes);
+                notes.forEach(noteIndexer::index);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            progress.imported += chunk.size();
+            log.debug("Import progress: {} records processed, {} imported", progress.processed, progress.imported);
+        } catch (DataAccessException e) {
+            progress.failed += chunk.size();
+            progress.report(lastRecord, "Chunk of " + chunk.size() + " notes ending at this record failed: "
+                    + e.getMostSpecificCause().getMessage());
+        }
+        chunk.clear();
+    }
+
+    private String validate(CreateNoteRequest request) {
+        if (request == null) {
+            return "record is required";
+        }
+        Set<ConstraintViolation<CreateNoteRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static final class Progress {
+        long processed;
+        long imported;
+        long failed;
+        boolean completed = true;
+        final List<NoteImportError> errors = new ArrayList<>();
+
+        void fail(long record, String error) {
+            failed++;
+            report(record, error);
+        }
+
+        void report(long record, String error) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new NoteImportError(record, error));
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package dev.layla.notesapi.note;
+
+import dev.layla.notesapi.note.exception.InvalidCursorException;
+import dev.layla.notesapi.note.exception.NoteAccessDeniedException;
+import dev.layla.notesapi.note.exception.NoteNotFoundException;
+import dev.layla.notesapi.note.exception.NotePreconditionFailedException;
+import dev.layla.notesapi.user.exception.UserNotFoundException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Métricas de NoteService, publicadas en /actuator/metrics:
+ *
+ * - {@code notes.operation}: timer de create, get, revalidate (GET con
+ *   If-None-Match), update y delete (tags operation, outcome).
+ * - {@code notes.query}: timer de list y search (tags operation, mode
+ *   page|slice|cursor, archived true|false|all, results 0|1-10|11-50|51+, outcome).
+ * - {@code notes.search.results}: resultados devueltos por búsqueda (tags backend, mode).
+ * - {@code notes.content.size}: caracteres del contenido guardado en create y update.
+ *
+ * outcome es success, not_found (la nota o el usuario no existen), forbidden,
+ * invalid (cursor), precondition_failed (If-Match), conflict (@Version) o error.
+ * Los timers publican histogramas de percentiles. En los métodos @Transactional el tiempo no incluye el commit.
+ */
+@Component
+public class NoteMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public NoteMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Mide una operación sobre una sola nota.
+     */
+    public <T> T timeOperation(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            operationTimer(operation, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            operationTimer(operation, outcome(e)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    public void timeOperation(String operation, Runnable call) {
+        timeOperation(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Mide un listado o búsqueda; el tag results se calcula con el resultado.
+     *
+     * @param archived Filtro de archivadas (null: todas)
+     * @param results  Número de elementos devueltos
+     */
+    public <T> T timeQuery(String operation, String mode, Boolean archived, Supplier<T> call, ToIntFunction<T> results) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            queryTimer(operation, mode, archived, sizeBucket(results.applyAsInt(result)), "success")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            queryTimer(operation, mode, archived, "0", outcome(e))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    public void recordSearchResults(String backend, String mode, int count) {
+        DistributionSummary.builder("notes.search.results")
+                .description("Results returned by a note search")
+                .tag("backend", backend)
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(count);
+    }
+
+    public void recordContentSize(String operation, String content) {
+        if (content == null) {
+            return;
+        }
+        DistributionSummary.builder("notes.content.size")
+                .description("Length of note content written")
+                .baseUnit("characters")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(content.length());
+    }
+
+    private Timer operationTimer(String operation, String outcome) {
+        return Timer.builder("notes.operation")
+                .description("Single-note operations in NoteService")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Timer queryTimer(String operation, String mode, Boolean archived, String results, String outcome) {
+        return Timer.builder("notes.query")
+                .description("Note listings and searches in NoteService")
+                .tag("operation", operation)
+                .tag("mode", mode)
+                .tag("archived", archived == null ? "all" : archived.toString())
+                .tag("results", results)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    static String sizeBucket(int size) {
+        if (size == 0) {
+            return "0";
+        }
+        if (size <= 10) {
+            return "1-10";
+        }
+        return size <= 50 ? "11-50" : "51+";
+    }
+
+    static String outcome(RuntimeException e) {
+        if (e instanceof NoteNotFoundException || e instanceof UserNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof NoteAccessDeniedException) {
+            return "forbidden";
+        }
+        if (e instanceof InvalidCursorException) {
+            return "invalid";
+        }
+        if (e instanceof NotePreconditionFailedException) {
+            return "precondition_failed";
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        return "error";
+    }
+}
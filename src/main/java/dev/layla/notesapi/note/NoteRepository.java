@@ -1,39 +1,358 @@
 package dev.layla.notesapi.note;
 
+import dev.layla.notesapi.note.search.NoteIndexRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface NoteRepository extends JpaRepository<Note, Long> {
 
-    Page<Note> findAllByOwnerId(Long ownerId, Pageable pageable);
+    /**
+     * Proyección de listados: nunca carga la columna content completa, solo
+     * sus primeros :excerptLength caracteres (calculados en la base de datos).
+     */
+    String SUMMARY = "SELECT new dev.layla.notesapi.note.NoteSummary(" +
+                     "n.id, n.title, SUBSTRING(n.content, 1, :excerptLength), n.createdAt, n.archived, n.version) " +
+                     "FROM Note n ";
+
+    /**
+     * Filtro de búsqueda por título o contenido (case-insensitive).
+     */
+    String MATCHES = "(LOWER(n.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+                     "LOWER(n.content) LIKE LOWER(CONCAT('%', :query, '%')))";
+
+    // ==================== ACCESO POR PROPIETARIO ====================
+    // Las operaciones sobre una sola nota (get, update, delete) leen la nota
+    // de la caché de segundo nivel o, si no está, con findByIdAndOwnerId (la
+    // propiedad se comprueba en el WHERE). Escriben con save y delete, que
+    // pasan por @Version; un UPDATE/DELETE JPQL invalidaría la región "notes"
+    // completa.
 
-    Page<Note> findAllByArchived(boolean archived, Pageable pageable);
+    Optional<Note> findByIdAndOwnerId(Long id, Long ownerId);
 
-    Page<Note> findAllByOwnerIdAndArchived(Long ownerId, boolean archived, Pageable pageable);
+    // ==================== EXPORT ====================
 
-    boolean existsByIdAndOwnerId(Long id, Long ownerId);
+    /**
+     * Todas las notas de un usuario como Stream (cursor de la BD, no una lista).
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     * El fetch size hace que el driver traiga las filas por bloques; en
+     * PostgreSQL solo se respeta con autocommit desactivado (en transacción).
+     * NoteExportService lo lee con la sesión en CacheMode.IGNORE para no llenar
+     * la caché de segundo nivel.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT n FROM Note n WHERE n.owner.id = :ownerId ORDER BY n.id")
+    Stream<Note> streamAllByOwnerId(@Param("ownerId") Long ownerId);
+
+    // ==================== BATCH ====================
+
+    List<Note> findAllByIdInAndOwnerId(Collection<Long> ids, Long ownerId);
+
+    /**
+     * Ids que existen (de cualquier usuario): separa 403 de 404 en los batch.
+     */
+    @Query("SELECT n.id FROM Note n WHERE n.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 
     /**
-     * Búsqueda de notas por título o contenido (case-insensitive).
-     * Usa LOWER() para que la búsqueda no distinga mayúsculas/minúsculas.
+     * Lote de filas para reconstruir el índice de búsqueda, ordenado por id.
+     * Se pagina por clave (id > afterId) para no usar OFFSET.
      */
-    @Query("SELECT n FROM Note n WHERE " +
-           "LOWER(n.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(n.content) LIKE LOWER(CONCAT('%', :query, '%'))")
-    Page<Note> searchByTitleOrContent(@Param("query") String query, Pageable pageable);
+    @Query("SELECT new dev.layla.notesapi.note.search.NoteIndexRow(n.id, n.owner.id, n.title, n.content) " +
+           "FROM Note n WHERE n.id > :afterId ORDER BY n.id")
+    List<NoteIndexRow> findIndexRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // ==================== LISTADOS ====================
+    // Cada listado tiene una query sin filtro y otra por archived: con un
+    // "(:archived IS NULL OR ...)" el plan se prepara sin saber si hay filtro.
+
+    @Query(value = SUMMARY + "WHERE n.owner.id = :ownerId",
+           countQuery = "SELECT count(n) FROM Note n WHERE n.owner.id = :ownerId")
+    Page<NoteSummary> findSummariesByOwner(
+            @Param("ownerId") Long ownerId,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable
+    );
+
+    @Query(value = SUMMARY + "WHERE n.owner.id = :ownerId AND n.archived = :archived",
+           countQuery = "SELECT count(n) FROM Note n WHERE n.owner.id = :ownerId AND n.archived = :archived")
+    Page<NoteSummary> findSummariesByOwnerAndArchived(
+            @Param("ownerId") Long ownerId,
+            @Param("archived") boolean archived,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable
+    );
+
+    @Query(value = SUMMARY,
+           countQuery = "SELECT count(n) FROM Note n")
+    Page<NoteSummary> findSummaries(
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable
+    );
+
+    @Query(value = SUMMARY + "WHERE n.archived = :archived",
+           countQuery = "SELECT count(n) FROM Note n WHERE n.archived = :archived")
+    Page<NoteSummary> findSummariesByArchived(
+            @Param("archived") boolean archived,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable
+    );
+
+    // Variantes Slice (?count=false): piden size + 1 filas para saber si hay
+    // página siguiente y no ejecutan el COUNT(*) de Page.
+
+    @Query(SUMMARY + "WHERE n.owner.id = :ownerId")
+    Slice<NoteSummary> findSummarySliceByOwner(
+            @Param("ownerId") Long ownerId,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable
+    );
+
+    @Query(SUMMARY + "WHERE n.owner.id = :ownerId AND n.archived = :archived")
+    Slice<NoteSummary> findSummarySliceByOwnerAndArchived(
+            @Param("ownerId") Long ownerId,
+            @Param("archived") boolean archived,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable
+    );
+
+    @Query(SUMMARY)
+    Slice<NoteSummary> findSummarySlice(
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable
+    );
+
+    @Query(SUMMARY + "WHERE n.archived = :archived")
+    Slice<NoteSummary> findSummarySliceByArchived(
+            @Param("archived") boolean archived,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable
+    );
+
+    // ==================== BÚSQUEDA ====================
+
+    @Query(value = SUMMARY + "WHERE " + MATCHES,
+           countQuery = "SELECT count(n) FROM Note n WHERE " + MATCHES)
+    Page<NoteSummary> searchSummaries(
+            @Param("query") String query,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable
+    );
+
+    @Query(value = SUMMARY + "WHERE n.owner.id = :userId AND " + MATCHES,
+           countQuery = "SELECT count(n) FROM Note n WHERE n.owner.id = :userId AND " + MATCHES)
+    Page<NoteSummary> searchSummariesByUser(
+            @Param("userId") Long userId,
+            @Param("query") String query,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable
+    );
 
     /**
-     * Búsqueda de notas de un usuario específico.
+     * Mismo filtro que las búsquedas LIKE, pero restringido a un lote de los
+     * candidatos que devuelve el índice de trigramas (backend trigram en memoria).
+     * Solo devuelve ids: el service pagina y luego carga los resúmenes.
      */
-    @Query("SELECT n FROM Note n WHERE n.owner.id = :userId AND (" +
-           "LOWER(n.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(n.content) LIKE LOWER(CONCAT('%', :query, '%')))")
-    Page<Note> searchByUserAndTitleOrContent(
+    @Query("SELECT n.id FROM Note n WHERE n.id IN :ids AND " + MATCHES)
+    List<Long> findMatchingIds(
+            @Param("ids") Collection<Long> ids,
+            @Param("query") String query
+    );
+
+    @Query(SUMMARY + "WHERE " + MATCHES)
+    Slice<NoteSummary> searchSummarySlice(
+            @Param("query") String query,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable
+    );
+
+    @Query(SUMMARY + "WHERE n.owner.id = :userId AND " + MATCHES)
+    Slice<NoteSummary> searchSummarySliceByUser(
             @Param("userId") Long userId,
             @Param("query") String query,
+            @Param("excerptLength") int excerptLength,
             Pageable pageable
     );
+
+    /**
+     * Resúmenes de un conjunto de ids, sin orden (el llamador los reordena).
+     * Los backends en memoria y FULLTEXT paginan los ids antes, así que como
+     * mucho recibe una página.
+     */
+    @Query(SUMMARY + "WHERE n.id IN :ids")
+    List<NoteSummary> findSummariesByIdIn(
+            @Param("ids") Collection<Long> ids,
+            @Param("excerptLength") int excerptLength
+    );
+
+    // ==================== KEYSET (cursor) ====================
+    // Orden fijo (createdAt DESC, id DESC). La condición "createdAt <= :createdAt"
+    // es un rango sobre el índice; la segunda solo descarta los empates ya vistos.
+    // El Pageable solo se usa como LIMIT (sin OFFSET ni COUNT).
+
+    @Query(SUMMARY + "WHERE n.owner.id = :userId " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NoteSummary> findKeysetFirst(
+            @Param("userId") Long userId,
+            @Param("excerptLength") int excerptLength,
+            Pageable limit
+    );
+
+    @Query(SUMMARY + "WHERE n.owner.id = :userId AND n.archived = :archived " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NoteSummary> findKeysetFirstByArchived(
+            @Param("userId") Long userId,
+            @Param("archived") boolean archived,
+            @Param("excerptLength") int excerptLength,
+            Pageable limit
+    );
+
+    /**
+     * Notas más antiguas que el cursor (página siguiente), en orden descendente.
+     */
+    @Query(SUMMARY + "WHERE n.owner.id = :userId " +
+           "AND n.createdAt <= :createdAt AND (n.createdAt < :createdAt OR n.id < :id) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NoteSummary> findKeysetBefore(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            @Param("excerptLength") int excerptLength,
+            Pageable limit
+    );
+
+    @Query(SUMMARY + "WHERE n.owner.id = :userId AND n.archived = :archived " +
+           "AND n.createdAt <= :createdAt AND (n.createdAt < :createdAt OR n.id < :id) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NoteSummary> findKeysetBeforeByArchived(
+            @Param("userId") Long userId,
+            @Param("archived") boolean archived,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            @Param("excerptLength") int excerptLength,
+            Pageable limit
+    );
+
+    /**
+     * Notas más recientes que el cursor (página anterior), en orden ascendente:
+     * las más cercanas al cursor primero. El service invierte el resultado.
+     */
+    @Query(SUMMARY + "WHERE n.owner.id = :userId " +
+           "AND n.createdAt >= :createdAt AND (n.createdAt > :createdAt OR n.id > :id) " +
+           "ORDER BY n.createdAt ASC, n.id ASC")
+    List<NoteSummary> findKeysetAfter(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            @Param("excerptLength") int excerptLength,
+            Pageable limit
+    );
+
+    @Query(SUMMARY + "WHERE n.owner.id = :userId AND n.archived = :archived " +
+           "AND n.createdAt >= :createdAt AND (n.createdAt > :createdAt OR n.id > :id) " +
+           "ORDER BY n.createdAt ASC, n.id ASC")
+    List<NoteSummary> findKeysetAfterByArchived(
+            @Param("userId") Long userId,
+            @Param("archived") boolean archived,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            @Param("excerptLength") int excerptLength,
+            Pageable limit
+    );
+
+    @Query(SUMMARY + "WHERE n.owner.id = :userId AND " + MATCHES + " " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NoteSummary> searchKeysetFirst(
+            @Param("userId") Long userId,
+            @Param("query") String query,
+            @Param("excerptLength") int excerptLength,
+            Pageable limit
+    );
+
+    @Query(SUMMARY + "WHERE n.owner.id = :userId AND " + MATCHES + " " +
+           "AND n.createdAt <= :createdAt AND (n.createdAt < :createdAt OR n.id < :id) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NoteSummary> searchKeysetBefore(
+            @Param("userId") Long userId,
+            @Param("query") String query,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            @Param("excerptLength") int excerptLength,
+            Pageable limit
+    );
+
+    @Query(SUMMARY + "WHERE n.owner.id = :userId AND " + MATCHES + " " +
+           "AND n.createdAt >= :createdAt AND (n.createdAt > :createdAt OR n.id > :id) " +
+           "ORDER BY n.createdAt ASC, n.id ASC")
+    List<NoteSummary> searchKeysetAfter(
+            @Param("userId") Long userId,
+            @Param("query") String query,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            @Param("excerptLength") int excerptLength,
+            Pageable limit
+    );
+
+    // ==================== FULL-TEXT (solo PostgreSQL) ====================
+    // La columna search_vector y su índice GIN se crean en la migración
+    // db/migration/postgresql/V1__baseline.sql.
+    // Los resultados se ordenan por relevancia (ts_rank) y se cortan con LIMIT,
+    // así PostgreSQL solo ordena los mejores candidatos del índice.
+    // Solo devuelven ids: los resúmenes se cargan después con findSummariesByIdIn.
+
+    @Query(value = "SELECT n.id FROM notes n, websearch_to_tsquery('simple', :query) q " +
+                   "WHERE n.user_id = :userId AND n.search_vector @@ q " +
+                   "ORDER BY ts_rank(n.search_vector, q) DESC, n.id DESC " +
+                   "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<Long> fullTextSearchByUser(
+            @Param("userId") Long userId,
+            @Param("query") String query,
+            @Param("limit") int limit,
+            @Param("offset") long offset
+    );
+
+    @Query(value = "SELECT count(*) FROM (" +
+                   "SELECT 1 FROM notes n " +
+                   "WHERE n.user_id = :userId AND n.search_vector @@ websearch_to_tsquery('simple', :query) " +
+                   "LIMIT :cap) hits",
+           nativeQuery = true)
+    long countFullTextSearchByUser(
+            @Param("userId") Long userId,
+            @Param("query") String query,
+            @Param("cap") int cap
+    );
+
+    @Query(value = "SELECT n.id FROM notes n, websearch_to_tsquery('simple', :query) q " +
+                   "WHERE n.search_vector @@ q " +
+                   "ORDER BY ts_rank(n.search_vector, q) DESC, n.id DESC " +
+                   "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<Long> fullTextSearch(
+            @Param("query") String query,
+            @Param("limit") int limit,
+            @Param("offset") long offset
+    );
+
+    @Query(value = "SELECT count(*) FROM (" +
+                   "SELECT 1 FROM notes n " +
+                   "WHERE n.search_vector @@ websearch_to_tsquery('simple', :query) " +
+                   "LIMIT :cap) hits",
+           nativeQuery = true)
+    long countFullTextSearch(@Param("query") String query, @Param("cap") int cap);
 }
@@ -0,0 +1,17 @@
+package dev.layla.notesapi.note;
+
+import dev.layla.notesapi.note.dto.NoteResponse;
+
+/**
+ * Resultado de un GET condicional (If-None-Match) de una nota.
+ * version es la de la misma lectura que note; note es null si no cambió (304).
+ */
+public record NoteRevalidation(
+        long version,
+        NoteResponse note
+) {
+
+    public boolean notModified() {
+        return note == null;
+    }
+}
@@ -1,20 +1,48 @@
 package dev.layla.notesapi.note;
 
+import dev.layla.notesapi.common.CursorPage;
+import dev.layla.notesapi.config.replica.DataSourceRoute;
 import dev.layla.notesapi.note.dto.CreateNoteRequest;
 import dev.layla.notesapi.note.dto.NoteResponse;
+import dev.layla.notesapi.note.dto.NoteSummaryResponse;
 import org.springframework.stereotype.Service;
 
 import dev.layla.notesapi.note.exception.NoteAccessDeniedException;
 import dev.layla.notesapi.note.exception.NoteNotFoundException;
+import dev.layla.notesapi.note.exception.NotePreconditionFailedException;
 import dev.layla.notesapi.note.dto.UpdateNoteRequest;
 import dev.layla.notesapi.note.mapper.NoteMapper;
+import dev.layla.notesapi.note.search.NoteIndexer;
+import dev.layla.notesapi.note.search.NoteSearchIndex;
+import dev.layla.notesapi.note.search.NoteTrigramIndex;
+import dev.layla.notesapi.note.search.SearchBackend;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.transaction.annotation.Transactional;
 import dev.layla.notesapi.user.User;
 import dev.layla.notesapi.user.UserRepository;
 import dev.layla.notesapi.user.exception.UserNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Service
 public class NoteService {
@@ -22,11 +50,46 @@ public class NoteService {
     private final NoteRepository noteRepository;
     private final NoteMapper noteMapper;
     private final UserRepository userRepository;
+    private final NoteIndexer noteIndexer;
+    private final NoteSearchIndex noteSearchIndex;
+    private final NoteTrigramIndex noteTrigramIndex;
+    private final SearchBackend searchBackend;
+    private final NoteMetrics noteMetrics;
+    private final EntityManagerFactory entityManagerFactory;
 
-    public NoteService(NoteRepository noteRepository, NoteMapper noteMapper, UserRepository userRepository) {
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * Máximo de resultados que devuelve el backend FULLTEXT (los más relevantes).
+     */
+    @Value("${notes.search.fulltext.max-results:1000}")
+    private int fullTextMaxResults = 1000;
+
+    /**
+     * Máximo de candidatos del índice de trigramas por cada IN de la comprobación LIKE.
+     */
+    @Value("${notes.search.trigram.recheck-batch-size:500}")
+    private int trigramRecheckBatchSize = 500;
+
+    /**
+     * Longitud máxima del extracto de contenido en listados y búsquedas.
+     */
+    @Value("${notes.excerpt-length:200}")
+    private int excerptLength = 200;
+
+    public NoteService(NoteRepository noteRepository, NoteMapper noteMapper, UserRepository userRepository,
+                       NoteIndexer noteIndexer, NoteSearchIndex noteSearchIndex,
+                       NoteTrigramIndex noteTrigramIndex, SearchBackend searchBackend, NoteMetrics noteMetrics,
+                       EntityManagerFactory entityManagerFactory) {
         this.noteRepository = noteRepository;
         this.noteMapper = noteMapper;
         this.userRepository = userRepository;
+        this.noteIndexer = noteIndexer;
+        this.noteSearchIndex = noteSearchIndex;
+        this.noteTrigramIndex = noteTrigramIndex;
+        this.searchBackend = searchBackend;
+        this.noteMetrics = noteMetrics;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     /**
@@ -39,25 +102,79 @@ public class NoteService {
 
         Note note = new Note(request.title(), request.content(), owner);
         Note saved = noteRepository.save(note);
+        noteIndexer.index(saved);
 
         return noteMapper.toResponse(saved);
     }
 
-    public Page<NoteResponse> getAll(Long userId, Boolean archived, Pageable pageable) {
-
-        Page<Note> page;
+    /**
+     * Listado paginado de notas como resúmenes (sin el contenido completo).
+     */
+    @Transactional(readOnly = true, label = DataSourceRoute.REPLICA_LABEL)
+    public Page<NoteSummaryResponse> getAll(Long userId, Boolean archived, Pageable pageable) {
+        return noteMetrics.timeQuery("list", "page", archived, () -> {
+            int excerpt = excerptFetchLength();
+            Page<NoteSummary> page;
+            if (userId != null) {
+                page = archived != null
+                        ? noteRepository.findSummariesByOwnerAndArchived(userId, archived, excerpt, pageable)
+                        : noteRepository.findSummariesByOwner(userId, excerpt, pageable);
+            } else {
+                page = archived != null
+                        ? noteRepository.findSummariesByArchived(archived, excerpt, pageable)
+                        : noteRepository.findSummaries(excerpt, pageable);
+            }
+
+            return page.map(this::toSummaryResponse);
+        }, Slice::getNumberOfElements);
+    }
 
-        if (userId != null && archived != null) {
-            page = noteRepository.findAllByOwnerIdAndArchived(userId, archived, pageable);
-        } else if (userId != null) {
-            page = noteRepository.findAllByOwnerId(userId, pageable);
-        } else if (archived != null) {
-            page = noteRepository.findAllByArchived(archived, pageable);
-        } else {
-            page = noteRepository.findAll(pageable);
-        }
+    /**
+     * Igual que getAll(userId, archived, pageable) pero sin el COUNT(*) de Page
+     * (modo ?count=false, pensado para scroll infinito).
+     */
+    @Transactional(readOnly = true, label = DataSourceRoute.REPLICA_LABEL)
+    public Slice<NoteSummaryResponse> getAllSlice(Long userId, Boolean archived, Pageable pageable) {
+        return noteMetrics.timeQuery("list", "slice", archived, () -> {
+            int excerpt = excerptFetchLength();
+            Slice<NoteSummary> slice;
+            if (userId != null) {
+                slice = archived != null
+                        ? noteRepository.findSummarySliceByOwnerAndArchived(userId, archived, excerpt, pageable)
+                        : noteRepository.findSummarySliceByOwner(userId, excerpt, pageable);
+            } else {
+                slice = archived != null
+                        ? noteRepository.findSummarySliceByArchived(archived, excerpt, pageable)
+                        : noteRepository.findSummarySlice(excerpt, pageable);
+            }
+
+            return slice.map(this::toSummaryResponse);
+        }, Slice::getNumberOfElements);
+    }
 
-        return page.map(noteMapper::toResponse);
+    /**
+     * Igual que getAll(userId, archived, pageable), pero paginando por cursor
+     * sobre (createdAt, id): cada página cuesta lo mismo sin importar su
+     * profundidad y no se ejecuta COUNT.
+     *
+     * @param cursor Cursor opaco de una respuesta anterior; null o vacío para la primera página
+     * @param size   Tamaño de página (se limita a MAX_CURSOR_PAGE_SIZE)
+     */
+    @Transactional(readOnly = true, label = DataSourceRoute.REPLICA_LABEL)
+    public CursorPage<NoteSummaryResponse> getAll(Long userId, Boolean archived, String cursor, int size) {
+        int excerpt = excerptFetchLength();
+        return noteMetrics.timeQuery("list", "cursor", archived, () -> archived != null
+                ? keysetPage(cursor, size,
+                        limit -> noteRepository.findKeysetFirstByArchived(userId, archived, excerpt, limit),
+                        (c, limit) -> noteRepository.findKeysetBeforeByArchived(
+                                userId, archived, c.createdAt(), c.id(), excerpt, limit),
+                        (c, limit) -> noteRepository.findKeysetAfterByArchived(
+                                userId, archived, c.createdAt(), c.id(), excerpt, limit))
+                : keysetPage(cursor, size,
+                        limit -> noteRepository.findKeysetFirst(userId, excerpt, limit),
+                        (c, limit) -> noteRepository.findKeysetBefore(userId, c.createdAt(), c.id(), excerpt, limit),
+                        (c, limit) -> noteRepository.findKeysetAfter(userId, c.createdAt(), c.id(), excerpt, limit)),
+                page -> page.content().size());
     }
 
     public NoteResponse getById(Long id) {
@@ -69,16 +186,27 @@ public class NoteService {
 
     /**
      * Obtiene una nota por ID verificando que pertenezca al usuario.
+     * Se carga por PK, así que sale de la caché de segundo nivel si está.
      */
+    @Transactional(readOnly = true, label = DataSourceRoute.REPLICA_LABEL)
     public NoteResponse getByIdForUser(Long userId, Long noteId) {
-        Note note = noteRepository.findById(noteId)
-                .orElseThrow(() -> new NoteNotFoundException(noteId));
-
-        if (!note.getOwner().getId().equals(userId)) {
-            throw new NoteAccessDeniedException(noteId, userId);
-        }
+        return noteMetrics.timeOperation("get", () -> noteMapper.toResponse(findOwned(userId, noteId)));
+    }
 
-        return noteMapper.toResponse(note);
+    /**
+     * GET condicional: compara la versión de la nota (su ETag) con
+     * If-None-Match y, si no coincide, devuelve la nota de esa misma lectura.
+     * Con la nota en caché no consulta la BD.
+     */
+    @Transactional(readOnly = true, label = DataSourceRoute.REPLICA_LABEL)
+    public NoteRevalidation revalidateForUser(Long userId, Long noteId, String ifNoneMatch) {
+        return noteMetrics.timeOperation("revalidate", () -> {
+            Note note = findOwned(userId, noteId);
+            if (NoteETags.matchesWeakly(ifNoneMatch, note.getVersion())) {
+                return new NoteRevalidation(note.getVersion(), null);
+            }
+            return new NoteRevalidation(note.getVersion(), noteMapper.toResponse(note));
+        });
     }
 
     @Transactional
@@ -98,83 +226,382 @@ public class NoteService {
             note.setArchived(request.archived());
         }
 
-        return noteMapper.toResponse(noteRepository.save(note));
+        Note saved = noteRepository.save(note);
+        noteIndexer.index(saved);
+
+        return noteMapper.toResponse(saved);
     }
 
     public void delete(Long id) {
         Note note = noteRepository.findById(id)
                 .orElseThrow(() -> new NoteNotFoundException(id));
         noteRepository.delete(note);
+        noteIndexer.remove(note.getOwner().getId(), id);
     }
 
+    /**
+     * Actualización parcial sobre la entidad: el UPDATE lo genera Hibernate
+     * al hacer flush, con @Version, y la caché de segundo nivel se actualiza
+     * solo para esta nota (un UPDATE masivo invalidaría la región entera).
+     */
     @Transactional
     public NoteResponse updateForUser(Long userId, Long noteId, UpdateNoteRequest request) {
-        Note note = noteRepository.findById(noteId)
-                .orElseThrow(() -> new NoteNotFoundException(noteId));
-
-        if (!note.getOwner().getId().equals(userId)) {
-            throw new NoteAccessDeniedException(noteId, userId);
-        }
-
-        if (request.title() != null && !request.title().isBlank()) {
-            note.setTitle(request.title());
-        }
-
-        if (request.content() != null) {
-            note.setContent(request.content());
-        }
-
-        if (request.archived() != null) {
-            note.setArchived(request.archived());
-        }
-
-        Note saved = noteRepository.save(note);
+        return updateForUser(userId, noteId, request, null);
+    }
 
-        return noteMapper.toResponse(saved);
+    /**
+     * Igual que updateForUser(userId, noteId, request), con concurrencia optimista:
+     * si se envía If-Match, solo se actualiza si la versión actual coincide;
+     * si no, NotePreconditionFailedException (412). El UPDATE incluye la
+     * versión leída, así que una modificación concurrente también da 412
+     * (sin If-Match da 409).
+     *
+     * @param ifMatch Valor de la cabecera If-Match (null: sin condición)
+     */
+    @Transactional
+    public NoteResponse updateForUser(Long userId, Long noteId, UpdateNoteRequest request, String ifMatch) {
+        return noteMetrics.timeOperation("update", () -> {
+            Note note = findOwned(userId, noteId);
+            if (ifMatch != null && !NoteETags.matchesStrongly(ifMatch, note.getVersion())) {
+                throw new NotePreconditionFailedException(noteId);
+            }
+
+            if (request.title() != null && !request.title().isBlank()) {
+                note.setTitle(request.title());
+            }
+            if (request.content() != null) {
+                note.setContent(request.content());
+            }
+            if (request.archived() != null) {
+                note.setArchived(request.archived());
+            }
+
+            Note saved;
+            try {
+                // flush aquí para que el conflicto de versión salga dentro del timer
+                saved = noteRepository.saveAndFlush(note);
+            } catch (OptimisticLockingFailureException e) {
+                if (ifMatch != null) {
+                    throw new NotePreconditionFailedException(noteId);
+                }
+                throw e;
+            }
+            noteMetrics.recordContentSize("update", request.content());
+            noteIndexer.index(saved);
+
+            return noteMapper.toResponse(saved);
+        });
     }
 
+    @Transactional
     public void deleteForUser(Long userId, Long noteId) {
+        noteMetrics.timeOperation("delete", () -> {
+            noteRepository.delete(findOwned(userId, noteId));
+            noteIndexer.remove(userId, noteId);
+        });
+    }
+
+    /**
+     * Carga la nota comprobando el propietario: 404 si no existe, 403 si es de
+     * otro usuario.
+     *
+     * Si la nota está en la caché de segundo nivel se lee por PK sin ir a la BD
+     * y se compara el id del owner (sale de la FK, sin inicializar el proxy).
+     * Si no, una sola SELECT filtra por id y propietario y deja la nota en la
+     * caché; existsById solo se ejecuta cuando no devuelve nada, para elegir
+     * entre 404 y 403.
+     */
+    private Note findOwned(Long userId, Long noteId) {
+        if (!entityManagerFactory.getCache().contains(Note.class, noteId)) {
+            return noteRepository.findByIdAndOwnerId(noteId, userId)
+                    .orElseThrow(() -> noteRepository.existsById(noteId)
+                            ? new NoteAccessDeniedException(noteId, userId)
+                            : new NoteNotFoundException(noteId));
+        }
         Note note = noteRepository.findById(noteId)
                 .orElseThrow(() -> new NoteNotFoundException(noteId));
-
         if (!note.getOwner().getId().equals(userId)) {
             throw new NoteAccessDeniedException(noteId, userId);
         }
-        noteRepository.delete(note);
+        return note;
     }
 
-    public Page<NoteResponse> getAllByUser(Long userId, Pageable pageable) {
+    public Page<NoteSummaryResponse> getAllByUser(Long userId, Pageable pageable) {
         // valida que el user exista (opcional pero pro)
         userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
-        return noteRepository.findAllByOwnerId(userId, pageable).map(noteMapper::toResponse);
+        return noteRepository.findSummariesByOwner(userId, excerptFetchLength(), pageable)
+                .map(this::toSummaryResponse);
+    }
+
+    public Slice<NoteSummaryResponse> getAllByUserSlice(Long userId, Pageable pageable) {
+        userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        return noteRepository.findSummarySliceByOwner(userId, excerptFetchLength(), pageable)
+                .map(this::toSummaryResponse);
     }
 
     public NoteResponse createForUser(Long userId, CreateNoteRequest request) {
-        User owner = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
-        Note saved = noteRepository.save(new Note(request.title(), request.content(), owner));
-        return noteMapper.toResponse(saved);
+        return noteMetrics.timeOperation("create", () -> {
+            User owner = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+            Note saved = noteRepository.save(new Note(request.title(), request.content(), owner));
+            noteIndexer.index(saved);
+            noteMetrics.recordContentSize("create", request.content());
+            return noteMapper.toResponse(saved);
+        });
     }
 
     /**
      * Busca notas por título o contenido (case-insensitive).
      * Opcionalmente puede filtrar por userId.
      *
+     * El motor se elige con {@code notes.search.backend}:
+     * - LIKE: queries JPQL con LIKE '%query%'.
+     * - INDEX: índice invertido en memoria, ordenado por creación (más recientes
+     *   primero) e ignorando el sort del pageable; solo se cargan por PK las
+     *   notas de la página.
+     * - FULLTEXT: tsvector/GIN de PostgreSQL, ordenado por relevancia (ts_rank)
+     *   e ignorando el sort del pageable.
+     * - TRIGRAM: mismas queries LIKE, resueltas por los índices GIN de pg_trgm.
+     * - TRIGRAM_MEMORY: índice de trigramas en memoria; el LIKE solo se evalúa
+     *   sobre los candidatos, así que las notas son las mismas que con LIKE,
+     *   ordenadas como en INDEX.
+     * Las queries sin tokens (vacías, solo puntuación) siempre usan LIKE, igual
+     * que las búsquedas sin userId con los índices en memoria (particionados por usuario).
+     *
      * @param query  Texto a buscar en título o contenido
      * @param userId (Opcional) Filtrar por usuario
      * @param pageable Configuración de paginación
      * @return Página de notas que coinciden con la búsqueda
      */
-    public Page<NoteResponse> search(String query, Long userId, Pageable pageable) {
-        Page<Note> page;
+    @Transactional(readOnly = true, label = DataSourceRoute.REPLICA_LABEL)
+    public Page<NoteSummaryResponse> search(String query, Long userId, Pageable pageable) {
+        return noteMetrics.timeQuery("search", "page", null, () -> {
+            Page<NoteSummary> page = searchSummaryPage(query, userId, pageable);
+            noteMetrics.recordSearchResults(backendTag(query), "page", page.getNumberOfElements());
+            return page.map(this::toSummaryResponse);
+        }, Slice::getNumberOfElements);
+    }
+
+    /**
+     * Igual que search(query, userId, pageable) pero sin calcular el total
+     * (modo ?count=false): se piden size + 1 filas para saber si hay más.
+     */
+    @Transactional(readOnly = true, label = DataSourceRoute.REPLICA_LABEL)
+    public Slice<NoteSummaryResponse> searchSlice(String query, Long userId, Pageable pageable) {
+        return noteMetrics.timeQuery("search", "slice", null, () -> {
+            Slice<NoteSummary> slice = searchSummarySlice(query, userId, pageable);
+            noteMetrics.recordSearchResults(backendTag(query), "slice", slice.getNumberOfElements());
+            return slice.map(this::toSummaryResponse);
+        }, Slice::getNumberOfElements);
+    }
 
+    private Page<NoteSummary> searchSummaryPage(String query, Long userId, Pageable pageable) {
+        return switch (resolveBackend(query, userId)) {
+            case INDEX -> pageOfIds(noteSearchIndex.search(userId, query), pageable);
+            case TRIGRAM_MEMORY -> pageOfIds(trigramMatches(query, userId, Long.MAX_VALUE), pageable);
+            case FULLTEXT -> fullTextPage(query, userId, pageable);
+            case LIKE, TRIGRAM -> userId != null
+                    ? noteRepository.searchSummariesByUser(userId, query, excerptFetchLength(), pageable)
+                    : noteRepository.searchSummaries(query, excerptFetchLength(), pageable);
+        };
+    }
+
+    private Slice<NoteSummary> searchSummarySlice(String query, Long userId, Pageable pageable) {
+        return switch (resolveBackend(query, userId)) {
+            case INDEX -> sliceOfIds(noteSearchIndex.search(userId, query), pageable);
+            // Basta con una coincidencia más que la página para saber si hay siguiente
+            case TRIGRAM_MEMORY -> sliceOfIds(
+                    trigramMatches(query, userId, pageable.getOffset() + pageable.getPageSize() + 1), pageable);
+            case FULLTEXT -> fullTextSlice(query, userId, pageable);
+            case LIKE, TRIGRAM -> userId != null
+                    ? noteRepository.searchSummarySliceByUser(userId, query, excerptFetchLength(), pageable)
+                    : noteRepository.searchSummarySlice(query, excerptFetchLength(), pageable);
+        };
+    }
+
+    /**
+     * Valida el usuario y decide qué backend resuelve la búsqueda: los índices
+     * en memoria caen a LIKE si aún no están listos, si no hay userId o si no
+     * pueden responder la query.
+     */
+    private SearchBackend resolveBackend(String query, Long userId) {
         if (userId != null) {
             // Validar que el usuario existe
             userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
-            page = noteRepository.searchByUserAndTitleOrContent(userId, query, pageable);
-        } else {
-            page = noteRepository.searchByTitleOrContent(query, pageable);
         }
 
-        return page.map(noteMapper::toResponse);
+        if (!NoteSearchIndex.isSearchable(query)) {
+            return SearchBackend.LIKE;
+        }
+
+        return switch (searchBackend) {
+            case INDEX -> noteIndexer.isReady() && userId != null
+                    ? SearchBackend.INDEX
+                    : SearchBackend.LIKE;
+            case TRIGRAM_MEMORY -> noteIndexer.isReady() && userId != null && NoteTrigramIndex.supports(query)
+                    ? SearchBackend.TRIGRAM_MEMORY
+                    : SearchBackend.LIKE;
+            case FULLTEXT, LIKE, TRIGRAM -> searchBackend;
+        };
+    }
+
+    /**
+     * Búsqueda paginada por cursor, en orden cronológico (createdAt DESC, id DESC).
+     * Siempre usa el filtro LIKE: los backends INDEX y FULLTEXT ordenan o
+     * filtran distinto y no tienen un orden estable para el cursor.
+     */
+    @Transactional(readOnly = true, label = DataSourceRoute.REPLICA_LABEL)
+    public CursorPage<NoteSummaryResponse> search(String query, Long userId, String cursor, int size) {
+        return noteMetrics.timeQuery("search", "cursor", null, () -> {
+            userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+
+            int excerpt = excerptFetchLength();
+            CursorPage<NoteSummaryResponse> page = keysetPage(cursor, size,
+                    limit -> noteRepository.searchKeysetFirst(userId, query, excerpt, limit),
+                    (c, limit) -> noteRepository.searchKeysetBefore(userId, query, c.createdAt(), c.id(), excerpt, limit),
+                    (c, limit) -> noteRepository.searchKeysetAfter(userId, query, c.createdAt(), c.id(), excerpt, limit));
+            noteMetrics.recordSearchResults("like", "cursor", page.content().size());
+            return page;
+        }, page -> page.content().size());
+    }
+
+    /**
+     * Pide size + 1 filas para saber si hay más resultados sin hacer COUNT.
+     * Las páginas hacia atrás se leen en orden ascendente y se invierten.
+     */
+    private CursorPage<NoteSummaryResponse> keysetPage(String cursor, int size,
+                                                Function<Pageable, List<NoteSummary>> first,
+                                                BiFunction<NoteCursor, Pageable, List<NoteSummary>> before,
+                                                BiFunction<NoteCursor, Pageable, List<NoteSummary>> after) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        NoteCursor current = cursor == null || cursor.isBlank() ? null : NoteCursor.decode(cursor);
+
+        if (current == null || current.direction() == NoteCursor.Direction.NEXT) {
+            List<NoteSummary> rows = current == null ? first.apply(limit) : before.apply(current, limit);
+            boolean hasMore = rows.size() > pageSize;
+            List<NoteSummary> notes = hasMore ? rows.subList(0, pageSize) : rows;
+
+            String next = hasMore ? NoteCursor.next(notes.get(notes.size() - 1)).encode() : null;
+            String prev = current != null && !notes.isEmpty() ? NoteCursor.prev(notes.get(0)).encode() : null;
+            return toCursorPage(notes, pageSize, next, prev);
+        }
+
+        List<NoteSummary> rows = after.apply(current, limit);
+        boolean hasMore = rows.size() > pageSize;
+        List<NoteSummary> notes = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        Collections.reverse(notes);
+
+        String prev = hasMore ? NoteCursor.prev(notes.get(0)).encode() : null;
+        String next = !notes.isEmpty() ? NoteCursor.next(notes.get(notes.size() - 1)).encode() : null;
+        return toCursorPage(notes, pageSize, next, prev);
+    }
+
+    private CursorPage<NoteSummaryResponse> toCursorPage(List<NoteSummary> notes, int size, String next, String prev) {
+        return new CursorPage<>(notes.stream().map(this::toSummaryResponse).toList(), size, next, prev);
+    }
+
+    /**
+     * Ids que coinciden con la query entre los candidatos del índice de trigramas,
+     * en el mismo orden (más recientes primero). El LIKE se comprueba en lotes de
+     * como mucho {@code trigramRecheckBatchSize} ids y se para al llegar a {@code needed}.
+     */
+    private List<Long> trigramMatches(String query, Long userId, long needed) {
+        List<Long> candidates = noteTrigramIndex.candidates(userId, query);
+
+        List<Long> matches = new ArrayList<>();
+        for (int from = 0; from < candidates.size() && matches.size() < needed; from += trigramRecheckBatchSize) {
+            List<Long> batch = candidates.subList(from, Math.min(from + trigramRecheckBatchSize, candidates.size()));
+            Set<Long> matching = new HashSet<>(noteRepository.findMatchingIds(batch, query));
+            batch.stream().filter(matching::contains).forEach(matches::add);
+        }
+        return matches;
+    }
+
+    private Page<NoteSummary> fullTextPage(String query, Long userId, Pageable pageable) {
+        long offset = pageable.getOffset();
+        int limit = (int) Math.min(pageable.getPageSize(), Math.max(0, fullTextMaxResults - offset));
+        List<NoteSummary> hits = fullTextHits(query, userId, limit, offset);
+
+        // El total también se corta en fullTextMaxResults: no hace falta contar toda la tabla
+        return PageableExecutionUtils.getPage(hits, pageable, () -> userId != null
+                ? noteRepository.countFullTextSearchByUser(userId, query, fullTextMaxResults)
+                : noteRepository.countFullTextSearch(query, fullTextMaxResults));
+    }
+
+    private Slice<NoteSummary> fullTextSlice(String query, Long userId, Pageable pageable) {
+        long offset = pageable.getOffset();
+        int limit = (int) Math.min(pageable.getPageSize(), Math.max(0, fullTextMaxResults - offset));
+
+        // Una fila de más indica si hay página siguiente (sin pasar de fullTextMaxResults)
+        boolean more = offset + limit < fullTextMaxResults;
+        List<NoteSummary> hits = fullTextHits(query, userId, more ? limit + 1 : limit, offset);
+        boolean hasNext = hits.size() > limit;
+        return new SliceImpl<>(hasNext ? hits.subList(0, limit) : hits, pageable, hasNext);
+    }
+
+    /**
+     * Ids ordenados por relevancia (query nativa) y luego sus resúmenes,
+     * devueltos en el mismo orden.
+     */
+    private List<NoteSummary> fullTextHits(String query, Long userId, int limit, long offset) {
+        if (limit == 0) {
+            return List.of();
+        }
+        List<Long> ids = userId != null
+                ? noteRepository.fullTextSearchByUser(userId, query, limit, offset)
+                : noteRepository.fullTextSearch(query, limit, offset);
+        return findSummariesInOrder(ids);
+    }
+
+    /**
+     * Página de una lista de ids ya ordenada y completa (el total es su tamaño).
+     * Solo se cargan por PK los ids de la página.
+     */
+    private Page<NoteSummary> pageOfIds(List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return new PageImpl<>(findSummariesInOrder(ids.subList(from, to)), pageable, ids.size());
+    }
+
+    private Slice<NoteSummary> sliceOfIds(List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return new SliceImpl<>(findSummariesInOrder(ids.subList(from, to)), pageable, to < ids.size());
+    }
+
+    /**
+     * Resúmenes de los ids en el mismo orden; los que ya no existen se omiten.
+     */
+    private List<NoteSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, NoteSummary> byId = new HashMap<>();
+        for (NoteSummary summary : noteRepository.findSummariesByIdIn(ids, excerptFetchLength())) {
+            byId.put(summary.id(), summary);
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Backend configurado para el tag de métricas; las queries sin tokens siempre van por LIKE.
+     */
+    private String backendTag(String query) {
+        SearchBackend backend = NoteSearchIndex.isSearchable(query) ? searchBackend : SearchBackend.LIKE;
+        return backend.name().toLowerCase(Locale.ROOT);
+    }
+
+    // ==================== RESÚMENES ====================
+
+    /**
+     * Se pide un carácter más que el extracto para saber si el contenido sigue.
+     */
+    private int excerptFetchLength() {
+        return excerptLength + 1;
+    }
+
+    private NoteSummaryResponse toSummaryResponse(NoteSummary summary) {
+        return noteMapper.toSummaryResponse(summary, excerptLength);
     }
 }
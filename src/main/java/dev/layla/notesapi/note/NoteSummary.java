@@ -0,0 +1,18 @@
+package dev.layla.notesapi.note;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de una nota para listados y búsquedas.
+ * excerpt son los primeros caracteres del contenido, recortados en la base
+ * de datos: la columna content completa nunca se transfiere en un listado.
+ * version permite calcular el ETag de una página sin leer más columnas.
+ */
+public record NoteSummary(
+        Long id,
+        String title,
+        String excerpt,
+        LocalDateTime createdAt,
+        boolean archived,
+        long version
+) {}
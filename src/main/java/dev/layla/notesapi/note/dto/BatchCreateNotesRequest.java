@@ -0,0 +1,17 @@
+package dev.layla.notesapi.note.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para crear varias notas en una sola petición.
+ * Cada nota se valida por separado: las inválidas se reportan en su resultado
+ * y no impiden crear las demás.
+ */
+public record BatchCreateNotesRequest(
+        @NotEmpty(message = "notes is required")
+        @Size(max = 500, message = "at most 500 notes per batch")
+        List<CreateNoteRequest> notes
+) {}
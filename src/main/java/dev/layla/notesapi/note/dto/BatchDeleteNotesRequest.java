@@ -0,0 +1,15 @@
+package dev.layla.notesapi.note.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para borrar varias notas en una sola petición.
+ */
+public record BatchDeleteNotesRequest(
+        @NotEmpty(message = "ids is required")
+        @Size(max = 500, message = "at most 500 notes per batch")
+        List<Long> ids
+) {}
@@ -0,0 +1,32 @@
+package dev.layla.notesapi.note.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+/**
+ * Resultado de un elemento de una operación batch.
+ *
+ * @param index  Posición del elemento en la petición
+ * @param id     Id de la nota como string (null si no se pudo crear)
+ * @param status Código HTTP equivalente a la operación individual (201, 200, 204, 400, 403, 404)
+ * @param error  Motivo del fallo, null si tuvo éxito
+ */
+public record BatchItemResult(
+        int index,
+        @JsonSerialize(using = ToStringSerializer.class)
+        Long id,
+        int status,
+        String error
+) {
+    public static BatchItemResult ok(int index, Long id, int status) {
+        return new BatchItemResult(index, id, status, null);
+    }
+
+    public static BatchItemResult failed(int index, Long id, int status, String error) {
+        return new BatchItemResult(index, id, status, error);
+    }
+
+    public boolean succeeded() {
+        return error == null;
+    }
+}
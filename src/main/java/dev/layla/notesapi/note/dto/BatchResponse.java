@@ -0,0 +1,18 @@
+package dev.layla.notesapi.note.dto;
+
+import java.util.List;
+
+/**
+ * Respuesta de una operación batch: un resultado por elemento, en el orden
+ * de la petición, más los totales.
+ */
+public record BatchResponse(
+        int succeeded,
+        int failed,
+        List<BatchItemResult> results
+) {
+    public static BatchResponse of(List<BatchItemResult> results) {
+        int succeeded = (int) results.stream().filter(BatchItemResult::succeeded).count();
+        return new BatchResponse(succeeded, results.size() - succeeded, results);
+    }
+}
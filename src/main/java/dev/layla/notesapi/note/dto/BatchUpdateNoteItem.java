@@ -0,0 +1,20 @@
+package dev.layla.notesapi.note.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Un elemento de PATCH /notes/batch: id de la nota y campos a cambiar.
+ * Los campos null se mantienen, igual que en UpdateNoteRequest.
+ */
+public record BatchUpdateNoteItem(
+        @NotNull(message = "id is required")
+        Long id,
+
+        @Size(max = 200, message = "title must be at most 200 characters")
+        String title,
+
+        String content,
+
+        Boolean archived
+) {}
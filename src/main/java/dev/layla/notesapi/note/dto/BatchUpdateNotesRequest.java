@@ -0,0 +1,15 @@
+package dev.layla.notesapi.note.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para actualizar varias notas en una sola petición.
+ */
+public record BatchUpdateNotesRequest(
+        @NotEmpty(message = "notes is required")
+        @Size(max = 500, message = "at most 500 notes per batch")
+        List<BatchUpdateNoteItem> notes
+) {}
@@ -0,0 +1,12 @@
+package dev.layla.notesapi.note.dto;
+
+/**
+ * Un registro del import que no se pudo guardar.
+ *
+ * @param record Número de registro en el NDJSON (empieza en 1)
+ * @param error  Motivo
+ */
+public record NoteImportError(
+        long record,
+        String error
+) {}
@@ -0,0 +1,20 @@
+package dev.layla.notesapi.note.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de POST /notes/import.
+ *
+ * @param processed Registros leídos del cuerpo
+ * @param imported  Notas guardadas
+ * @param failed    Registros descartados (inválidos o de un lote que falló)
+ * @param completed false si el cuerpo tenía JSON mal formado y la lectura se cortó
+ * @param errors    Detalle de los primeros errores (como máximo 100)
+ */
+public record NoteImportResponse(
+        long processed,
+        long imported,
+        long failed,
+        boolean completed,
+        List<NoteImportError> errors
+) {}
@@ -1,15 +1,25 @@
 package dev.layla.notesapi.note.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
 import java.time.LocalDateTime;
 
 /**
  * DTO de respuesta para Note.
  * Usando record de Java 17+ para inmutabilidad y menos código.
+ *
+ * El id va como string en el JSON: los ids (TsidFactory) superan 2^53 y un
+ * cliente JavaScript los redondearía al leerlos como número. Las peticiones
+ * aceptan los ids como string o como número.
  */
 public record NoteResponse(
+        @JsonSerialize(using = ToStringSerializer.class)
         Long id,
         String title,
         String content,
         LocalDateTime createdAt,
-        boolean archived
+        boolean archived,
+        LocalDateTime updatedAt,
+        long version
 ) {}
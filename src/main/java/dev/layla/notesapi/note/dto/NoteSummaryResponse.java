@@ -0,0 +1,22 @@
+package dev.layla.notesapi.note.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta para listados de notas.
+ * En lugar del contenido completo incluye un extracto de longitud acotada
+ * (notes.excerpt-length); el contenido se obtiene con GET /notes/{id}.
+ * El id va como string, igual que en NoteResponse.
+ */
+public record NoteSummaryResponse(
+        @JsonSerialize(using = ToStringSerializer.class)
+        Long id,
+        String title,
+        String excerpt,
+        LocalDateTime createdAt,
+        boolean archived,
+        long version
+) {}
@@ -0,0 +1,7 @@
+package dev.layla.notesapi.note.exception;
+
+public class NotePreconditionFailedException extends RuntimeException {
+    public NotePreconditionFailedException(Long noteId) {
+        super("Note with id " + noteId + " has been modified since the version in If-Match");
+    }
+}
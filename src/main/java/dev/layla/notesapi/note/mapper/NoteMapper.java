@@ -1,19 +1,44 @@
 package dev.layla.notesapi.note.mapper;
 
 import dev.layla.notesapi.note.Note;
+import dev.layla.notesapi.note.NoteSummary;
 import dev.layla.notesapi.note.dto.NoteResponse;
+import dev.layla.notesapi.note.dto.NoteSummaryResponse;
 import org.springframework.stereotype.Component;
 
 @Component
 public class NoteMapper {
 
+    private static final String ELLIPSIS = "…";
+
     public NoteResponse toResponse(Note note) {
         return new NoteResponse(
                 note.getId(),
                 note.getTitle(),
                 note.getContent(),
                 note.getCreatedAt(),
-                note.isArchived()
+                note.isArchived(),
+                note.getUpdatedAt(),
+                note.getVersion()
+        );
+    }
+
+    /**
+     * La query trae excerptLength + 1 caracteres: si llegan todos, el
+     * contenido sigue y el extracto se corta con "…".
+     */
+    public NoteSummaryResponse toSummaryResponse(NoteSummary summary, int excerptLength) {
+        String excerpt = summary.excerpt();
+        if (excerpt != null && excerpt.length() > excerptLength) {
+            excerpt = excerpt.substring(0, excerptLength) + ELLIPSIS;
+        }
+        return new NoteSummaryResponse(
+                summary.id(),
+                summary.title(),
+                excerpt,
+                summary.createdAt(),
+                summary.archived(),
+                summary.version()
         );
     }
 }
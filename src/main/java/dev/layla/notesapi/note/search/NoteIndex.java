@@ -0,0 +1,23 @@
+package dev.layla.notesapi.note.search;
+
+/**
+ * Índice de notas en memoria, particionado por usuario.
+ *
+ * Las implementaciones solo guardan estructuras de búsqueda; el mantenimiento
+ * (después del commit) y la reconstrucción al arrancar los hace {@link NoteIndexer}.
+ */
+public interface NoteIndex {
+
+    /**
+     * Solo los índices del backend configurado se mantienen y reconstruyen.
+     */
+    boolean isEnabled();
+
+    void put(Long ownerId, Long noteId, String title, String content);
+
+    void remove(Long ownerId, Long noteId);
+
+    void removeOwner(Long ownerId);
+
+    void clear();
+}
@@ -0,0 +1,12 @@
+package dev.layla.notesapi.note.search;
+
+/**
+ * Fila mínima que necesita el índice para (re)indexar una nota.
+ * Se carga con una proyección JPQL, sin hidratar la entidad Note ni su owner.
+ */
+public record NoteIndexRow(
+        Long id,
+        Long ownerId,
+        String title,
+        String content
+) {}
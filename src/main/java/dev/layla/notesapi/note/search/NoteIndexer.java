@@ -0,0 +1,157 @@
+package dev.layla.notesapi.note.search;
+
+import dev.layla.notesapi.common.TransactionCallbacks;
+import dev.layla.notesapi.note.Note;
+import dev.layla.notesapi.note.NoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Mantiene al día los índices de búsqueda en memoria que estén activos.
+ *
+ * - NoteService le avisa en create/update/delete; si hay una transacción
+ *   activa, el cambio se aplica después del commit.
+ * - Al arrancar la aplicación reconstruye los índices desde la BD.
+ *   Mientras tanto {@link #isReady()} es false y la búsqueda usa LIKE.
+ *   Los cambios que llegan durante la reconstrucción se guardan y se aplican
+ *   al terminar: así un lote leído antes de un update no pisa la versión nueva.
+ */
+@Component
+public class NoteIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(NoteIndexer.class);
+
+    private final NoteRepository noteRepository;
+    private final List<NoteIndex> indexes;
+
+    private volatile boolean ready = false;
+
+    /**
+     * Cambios recibidos durante una reconstrucción; null si no hay ninguna en curso.
+     */
+    private List<Consumer<NoteIndex>> pendingUpdates;
+    private final Object rebuildLock = new Object();
+
+    @Value("${notes.search.index.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${notes.search.index.rebuild-batch-size:500}")
+    private int rebuildBatchSize = 500;
+
+    public NoteIndexer(NoteRepository noteRepository, List<NoteIndex> indexes) {
+        this.noteRepository = noteRepository;
+        this.indexes = indexes.stream().filter(NoteIndex::isEnabled).toList();
+    }
+
+    // ==================== MANTENIMIENTO ====================
+
+    /**
+     * Indexa (o reindexa) una nota.
+     */
+    public void index(Note note) {
+        if (indexes.isEmpty() || note.getId() == null
+                || note.getOwner() == null || note.getOwner().getId() == null) {
+            return;
+        }
+        Long ownerId = note.getOwner().getId();
+        Long noteId = note.getId();
+        String title = note.getTitle();
+        String content = note.getContent();
+        TransactionCallbacks.afterCommit(() -> apply(index -> index.put(ownerId, noteId, title, content)));
+    }
+
+    /**
+     * Quita una nota de los índices.
+     */
+    public void remove(Long ownerId, Long noteId) {
+        if (indexes.isEmpty() || ownerId == null || noteId == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> apply(index -> index.remove(ownerId, noteId)));
+    }
+
+    /**
+     * Quita todas las notas de un usuario (por ejemplo, al eliminarlo).
+     */
+    public void removeOwner(Long ownerId) {
+        if (indexes.isEmpty() || ownerId == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> apply(index -> index.removeOwner(ownerId)));
+    }
+
+    private void apply(Consumer<NoteIndex> update) {
+        synchronized (rebuildLock) {
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+                return;
+            }
+        }
+        indexes.forEach(update);
+    }
+
+    // ==================== RECONSTRUCCIÓN ====================
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reconstruye los índices activos leyendo las notas en lotes ordenados por id.
+     * Al final aplica, en orden, los cambios confirmados mientras tanto.
+     */
+    public synchronized void rebuild() {
+        synchronized (rebuildLock) {
+            ready = false;
+            pendingUpdates = new ArrayList<>();
+            indexes.forEach(NoteIndex::clear);
+        }
+
+        long start = System.currentTimeMillis();
+        long count = 0;
+        boolean rebuilt = false;
+        int replayed;
+        try {
+            Long lastId = 0L;
+            List<NoteIndexRow> batch;
+            do {
+                batch = noteRepository.findIndexRowsAfter(lastId, PageRequest.ofSize(rebuildBatchSize));
+                for (NoteIndexRow row : batch) {
+                    for (NoteIndex index : indexes) {
+                        index.put(row.ownerId(), row.id(), row.title(), row.content());
+                    }
+                    lastId = row.id();
+                }
+                count += batch.size();
+            } while (batch.size() == rebuildBatchSize);
+            rebuilt = true;
+        } finally {
+            // Si la lectura falla el índice sigue sin estar listo (la búsqueda usa LIKE),
+            // pero se deja de acumular cambios
+            synchronized (rebuildLock) {
+                replayed = pendingUpdates.size();
+                pendingUpdates.forEach(indexes::forEach);
+                pendingUpdates = null;
+                ready = rebuilt;
+            }
+        }
+        log.info("Note search indexes rebuilt: {} notes in {} ms ({} updates replayed)",
+                count, System.currentTimeMillis() - start, replayed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!indexes.isEmpty() && rebuildOnStartup) {
+            rebuild();
+        }
+    }
+}
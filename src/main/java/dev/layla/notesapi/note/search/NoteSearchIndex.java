@@ -0,0 +1,174 @@
+package dev.layla.notesapi.note.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria para la búsqueda de notas.
+ *
+ * Cada usuario tiene su propia partición (token -> ids de notas), así que una
+ * búsqueda solo toca los tokens del usuario que busca. Los tokens se guardan
+ * ordenados para resolver prefijos ("spri" encuentra "spring") con un rango
+ * del mapa en lugar de recorrer todas las notas.
+ *
+ * Solo está activo con {@code notes.search.backend=index}; lo mantiene
+ * {@link NoteIndexer}.
+ */
+@Component
+public class NoteSearchIndex implements NoteIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final boolean enabled;
+
+    private final Map<Long, Partition> partitions = new ConcurrentHashMap<>();
+
+    public NoteSearchIndex(SearchBackend searchBackend) {
+        this.enabled = searchBackend == SearchBackend.INDEX;
+    }
+
+    // ==================== MANTENIMIENTO ====================
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void put(Long ownerId, Long noteId, String title, String content) {
+        partitions.computeIfAbsent(ownerId, id -> new Partition()).put(noteId, tokenize(title, content));
+    }
+
+    @Override
+    public void remove(Long ownerId, Long noteId) {
+        Partition partition = partitions.get(ownerId);
+        if (partition != null) {
+            partition.remove(noteId);
+        }
+    }
+
+    @Override
+    public void removeOwner(Long ownerId) {
+        partitions.remove(ownerId);
+    }
+
+    @Override
+    public void clear() {
+        partitions.clear();
+    }
+
+    // ==================== BÚSQUEDA ====================
+
+    /**
+     * Indica si la query tiene al menos un token indexable.
+     * Queries vacías o solo con signos de puntuación se resuelven con LIKE.
+     */
+    public static boolean isSearchable(String query) {
+        return query != null && !tokenize(query).isEmpty();
+    }
+
+    /**
+     * Ids de las notas del usuario que contienen todos los tokens de la query
+     * (cada token de la query puede ser prefijo de un token de la nota).
+     *
+     * Se devuelven ordenados por id descendente: los ids son TSID, así que es
+     * el orden de creación (las más recientes primero) y NoteService puede
+     * paginar sobre la lista sin consultar la BD.
+     */
+    public List<Long> search(Long ownerId, String query) {
+        Partition partition = partitions.get(ownerId);
+        if (partition == null) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(partition.search(tokenize(query)));
+        ids.sort(Comparator.reverseOrder());
+        return ids;
+    }
+
+    // ==================== TOKENIZACIÓN ====================
+
+    static Set<String> tokenize(String... texts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Partición de un usuario. Las lecturas no bloquean; las escrituras
+     * se serializan por partición para que postings y tokensByNote no diverjan.
+     */
+    private static final class Partition {
+
+        private final NavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+        private final Map<Long, Set<String>> tokensByNote = new ConcurrentHashMap<>();
+
+        synchronized void put(Long noteId, Set<String> tokens) {
+            remove(noteId);
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(noteId);
+            }
+            tokensByNote.put(noteId, tokens);
+        }
+
+        synchronized void remove(Long noteId) {
+            Set<String> previous = tokensByNote.remove(noteId);
+            if (previous == null) {
+                return;
+            }
+            for (String token : previous) {
+                Set<Long> ids = postings.get(token);
+                if (ids != null) {
+                    ids.remove(noteId);
+                    if (ids.isEmpty()) {
+                        postings.remove(token);
+                    }
+                }
+            }
+        }
+
+        Set<Long> search(Set<String> queryTokens) {
+            if (queryTokens.isEmpty()) {
+                return Set.of();
+            }
+            List<Set<Long>> matches = new ArrayList<>(queryTokens.size());
+            for (String token : queryTokens) {
+                Set<Long> ids = new HashSet<>();
+                for (Set<Long> posting : postings.subMap(token, true, token + Character.MAX_VALUE, true).values()) {
+                    ids.addAll(posting);
+                }
+                if (ids.isEmpty()) {
+                    return Set.of();
+                }
+                matches.add(ids);
+            }
+            // Intersectar empezando por el conjunto más pequeño
+            matches.sort(Comparator.comparingInt(Set::size));
+            Set<Long> result = matches.get(0);
+            for (int i = 1; i < matches.size() && !result.isEmpty(); i++) {
+                result.retainAll(matches.get(i));
+            }
+            return result;
+        }
+    }
+}
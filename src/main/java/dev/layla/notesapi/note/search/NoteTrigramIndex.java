@@ -0,0 +1,191 @@
+package dev.layla.notesapi.note.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de trigramas en memoria para búsquedas por subcadena.
+ *
+ * Es el equivalente de pg_trgm para H2 y tests ({@code notes.search.backend=trigram}
+ * fuera de PostgreSQL). Cada usuario tiene su partición: trigrama -> ids de notas
+ * (posting list). Si una nota contiene la query como subcadena, contiene todos
+ * sus trigramas, así que la intersección de las posting lists es un superconjunto
+ * exacto de los resultados. NoteService luego aplica el mismo LIKE del repositorio
+ * solo sobre esos candidatos (en lotes de ids acotados), por lo que el resultado
+ * es idéntico al de las queries LIKE originales.
+ *
+ * Solo sirve para queries de al menos {@value #MIN_QUERY_LENGTH} caracteres y sin
+ * comodines de LIKE (%, _ o \); el resto se resuelve con LIKE directamente.
+ */
+@Component
+public class NoteTrigramIndex implements NoteIndex {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private final boolean enabled;
+
+    private final Map<Long, Partition> partitions = new ConcurrentHashMap<>();
+
+    public NoteTrigramIndex(SearchBackend searchBackend) {
+        this.enabled = searchBackend == SearchBackend.TRIGRAM_MEMORY;
+    }
+
+    // ==================== MANTENIMIENTO ====================
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void put(Long ownerId, Long noteId, String title, String content) {
+        partitions.computeIfAbsent(ownerId, id -> new Partition()).put(noteId, trigrams(title, content));
+    }
+
+    @Override
+    public void remove(Long ownerId, Long noteId) {
+        Partition partition = partitions.get(ownerId);
+        if (partition != null) {
+            partition.remove(noteId);
+        }
+    }
+
+    @Override
+    public void removeOwner(Long ownerId) {
+        partitions.remove(ownerId);
+    }
+
+    @Override
+    public void clear() {
+        partitions.clear();
+    }
+
+    // ==================== BÚSQUEDA ====================
+
+    /**
+     * Indica si el índice puede resolver la query con la misma semántica que LIKE.
+     */
+    public static boolean supports(String query) {
+        if (query == null || query.length() < MIN_QUERY_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ids de las notas del usuario que contienen todos los trigramas de la query.
+     * Es un superconjunto de las que la contienen como subcadena.
+     * Se devuelven ordenados por id descendente (orden de creación, los TSID
+     * son crecientes), el mismo orden en que NoteService pagina los resultados.
+     */
+    public List<Long> candidates(Long ownerId, String query) {
+        Partition partition = partitions.get(ownerId);
+        if (partition == null) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(partition.candidates(trigrams(query)));
+        ids.sort(Comparator.reverseOrder());
+        return ids;
+    }
+
+    // ==================== TRIGRAMAS ====================
+
+    /**
+     * Trigramas (distintos y ordenados) de los textos en minúsculas.
+     * Cada trigrama se codifica en un long: tres chars de 16 bits.
+     * Los textos se procesan por separado para no generar trigramas
+     * que crucen de un campo a otro.
+     */
+    static long[] trigrams(String... texts) {
+        int total = 0;
+        for (String text : texts) {
+            if (text != null) {
+                total += Math.max(0, text.length() - 2);
+            }
+        }
+        long[] result = new long[total];
+        int n = 0;
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            String lower = text.toLowerCase(Locale.ROOT);
+            for (int i = 0; i + 2 < lower.length(); i++) {
+                result[n++] = ((long) lower.charAt(i) << 32)
+                        | ((long) lower.charAt(i + 1) << 16)
+                        | lower.charAt(i + 2);
+            }
+        }
+        return Arrays.stream(result, 0, n).sorted().distinct().toArray();
+    }
+
+    /**
+     * Partición de un usuario. Las lecturas no bloquean; las escrituras
+     * se serializan por partición para que postings y trigramsByNote no diverjan.
+     */
+    private static final class Partition {
+
+        private final Map<Long, Set<Long>> postings = new ConcurrentHashMap<>();
+        private final Map<Long, long[]> trigramsByNote = new ConcurrentHashMap<>();
+
+        synchronized void put(Long noteId, long[] trigrams) {
+            remove(noteId);
+            for (long trigram : trigrams) {
+                postings.computeIfAbsent(trigram, t -> ConcurrentHashMap.newKeySet()).add(noteId);
+            }
+            trigramsByNote.put(noteId, trigrams);
+        }
+
+        synchronized void remove(Long noteId) {
+            long[] previous = trigramsByNote.remove(noteId);
+            if (previous == null) {
+                return;
+            }
+            for (long trigram : previous) {
+                Set<Long> ids = postings.get(trigram);
+                if (ids != null) {
+                    ids.remove(noteId);
+                    if (ids.isEmpty()) {
+                        postings.remove(trigram);
+                    }
+                }
+            }
+        }
+
+        Set<Long> candidates(long[] queryTrigrams) {
+            if (queryTrigrams.length == 0) {
+                return Set.of();
+            }
+            List<Set<Long>> lists = new ArrayList<>(queryTrigrams.length);
+            for (long trigram : queryTrigrams) {
+                Set<Long> ids = postings.get(trigram);
+                if (ids == null || ids.isEmpty()) {
+                    return Set.of();
+                }
+                lists.add(ids);
+            }
+            // Intersectar empezando por la posting list más corta
+            lists.sort(Comparator.comparingInt(Set::size));
+            Set<Long> result = new HashSet<>(lists.get(0));
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(lists.get(i));
+            }
+            return result;
+        }
+    }
+}
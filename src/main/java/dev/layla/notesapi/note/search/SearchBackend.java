@@ -0,0 +1,32 @@
+package dev.layla.notesapi.note.search;
+
+import java.util.Locale;
+
+/**
+ * Motores disponibles para /notes/search.
+ * Se elige con la propiedad {@code notes.search.backend}.
+ */
+public enum SearchBackend {
+
+    /** Queries JPQL con LIKE '%query%' (funciona en cualquier BD). */
+    LIKE,
+
+    /** Índice invertido en memoria por usuario ({@link NoteSearchIndex}). */
+    INDEX,
+
+    /** tsvector + índice GIN + ts_rank (solo PostgreSQL). */
+    FULLTEXT,
+
+    /**
+     * Misma semántica de subcadena que LIKE, acelerada con índices GIN de pg_trgm
+     * (solo PostgreSQL; en otra BD se usa {@link #TRIGRAM_MEMORY}).
+     */
+    TRIGRAM,
+
+    /** Misma semántica que LIKE, con posting lists de trigramas en memoria ({@link NoteTrigramIndex}). */
+    TRIGRAM_MEMORY;
+
+    public static SearchBackend from(String value) {
+        return SearchBackend.valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
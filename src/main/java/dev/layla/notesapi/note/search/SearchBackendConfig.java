@@ -0,0 +1,54 @@
+package dev.layla.notesapi.note.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Resuelve el motor de búsqueda a partir de {@code notes.search.backend}.
+ *
+ * FULLTEXT necesita PostgreSQL (tsvector, GIN, ts_rank). Si la BD es otra
+ * (por ejemplo H2 en el perfil dev) se usa LIKE como fallback.
+ * TRIGRAM usa pg_trgm en PostgreSQL y el índice de trigramas en memoria en otra BD.
+ * Sin la propiedad se usa TRIGRAM, el mismo valor que application.properties.
+ */
+@Configuration
+public class SearchBackendConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchBackendConfig.class);
+
+    @Bean
+    public SearchBackend searchBackend(
+            @Value("${notes.search.backend:trigram}") String configured,
+            DataSource dataSource) {
+
+        SearchBackend backend = SearchBackend.from(configured);
+
+        if (backend == SearchBackend.FULLTEXT && !isPostgres(dataSource)) {
+            log.warn("notes.search.backend=fulltext requires PostgreSQL, falling back to LIKE queries");
+            backend = SearchBackend.LIKE;
+        }
+
+        if (backend == SearchBackend.TRIGRAM && !isPostgres(dataSource)) {
+            backend = SearchBackend.TRIGRAM_MEMORY;
+        }
+
+        log.info("Note search backend: {}", backend);
+        return backend;
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Could not detect database vendor: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package dev.layla.notesapi.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket implementado como GCRA (generic cell rate algorithm).
+ *
+ * Cada clave guarda un único long: el instante teórico (TAT, en nanos de
+ * System.nanoTime) en que el bucket volvería a estar lleno. Una petición
+ * avanza el TAT un intervalo (1 / tasa); se acepta mientras el TAT no quede
+ * más de burst intervalos por delante de ahora. No hay contador de tokens ni
+ * timestamp aparte, así que la actualización es un solo compareAndSet, sin locks.
+ *
+ * Una clave con TAT en el pasado tiene el bucket lleno: {@link #sweep(long)}
+ * la borra y la siguiente petición crea una nueva, con el mismo resultado.
+ */
+final class GcraLimiter<K> {
+
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final ConcurrentHashMap<K, AtomicLong> arrivals = new ConcurrentHashMap<>();
+
+    /**
+     * @param requestsPerSecond Tasa sostenida
+     * @param burst             Peticiones seguidas que se aceptan con el bucket lleno
+     */
+    GcraLimiter(double requestsPerSecond, int burst) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate must be > 0 and burst >= 1");
+        }
+        this.emissionInterval = Math.max(1, (long) (1_000_000_000L / requestsPerSecond));
+        this.burstTolerance = emissionInterval * burst;
+    }
+
+    /**
+     * Consume un token de la clave.
+     *
+     * @return 0 si se acepta; si no, nanosegundos hasta que se aceptaría
+     */
+    long tryAcquire(K key, long now) {
+        AtomicLong tat = arrivals.get(key);
+        if (tat == null) {
+            tat = arrivals.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = tat.get();
+            // max(current, now), comparando por diferencia como pide System.nanoTime
+            long next = (current - now < 0 ? now : current) + emissionInterval;
+            long excess = next - now - burstTolerance;
+            if (excess > 0) {
+                return excess;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Borra las claves con el bucket lleno. Una petición concurrente sobre una
+     * clave que se está borrando puede perder su consumo: como mucho una
+     * petición extra para una clave que llevaba tiempo inactiva.
+     *
+     * @return Claves borradas
+     */
+    int sweep(long now) {
+        int before = arrivals.size();
+        arrivals.values().removeIf(tat -> tat.get() - now <= 0);
+        return before - arrivals.size();
+    }
+
+    int size() {
+        return arrivals.size();
+    }
+}
@@ -0,0 +1,25 @@
+package dev.layla.notesapi.ratelimit;
+
+/**
+ * Clases de endpoints con su propio límite ({@code rate-limit.<property>.*}).
+ */
+public enum RateLimitClass {
+    /** /auth/**, por IP del cliente (login y registro no tienen usuario). */
+    AUTH("auth"),
+    /** /notes/search, la consulta más cara, por usuario. */
+    SEARCH("search"),
+    /** Resto de GET/HEAD autenticados, por usuario. */
+    READ("read"),
+    /** Resto de escrituras autenticadas, por usuario. */
+    WRITE("write");
+
+    private final String property;
+
+    RateLimitClass(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+}
@@ -0,0 +1,106 @@
+package dev.layla.notesapi.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.layla.notesapi.auth.UserPrincipal;
+import dev.layla.notesapi.common.GlobalExceptionHandler.ApiError;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplica {@link RateLimiter} en la cadena de Spring Security, después de
+ * JwtAuthenticationFilter (el usuario ya está resuelto).
+ *
+ * - /auth/**: clase AUTH, por IP (request.getRemoteAddr(); detrás de un proxy
+ *   hace falta server.forward-headers-strategy para que sea la del cliente).
+ * - /notes/search: SEARCH, por usuario.
+ * - Resto de peticiones autenticadas: READ (GET/HEAD) o WRITE, por usuario.
+ * - Peticiones anónimas fuera de /auth: sin límite (o son públicas o se rechazan con 403).
+ *
+ * Si se supera el límite responde 429 con Retry-After (segundos) sin llegar al controller.
+ * No se registra como @Component para que Spring Boot no lo añada también como
+ * filtro del servlet; lo crea SecurityConfig.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !rateLimiter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimitClass limitClass;
+        Object key;
+        if (path.startsWith("/auth/")) {
+            limitClass = RateLimitClass.AUTH;
+            key = request.getRemoteAddr();
+        } else {
+            Long userId = currentUserId();
+            if (userId == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            limitClass = path.startsWith("/notes/search") ? RateLimitClass.SEARCH
+                    : isRead(request) ? RateLimitClass.READ
+                    : RateLimitClass.WRITE;
+            key = userId;
+        }
+
+        long wait = rateLimiter.tryAcquire(limitClass, key);
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiError(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too many requests, retry after " + retryAfter + "s",
+                LocalDateTime.now()));
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package dev.layla.notesapi.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Límites de peticiones por clase de endpoint, en memoria del proceso.
+ *
+ * Cada clase ({@link RateLimitClass}) tiene su {@link GcraLimiter} con
+ * {@code rate-limit.<clase>.requests-per-second} y {@code rate-limit.<clase>.burst}.
+ * Las claves inactivas (bucket lleno) se borran cada {@code rate-limit.sweep-interval}.
+ * Con varias instancias cada una aplica el límite por separado.
+ *
+ * Métricas: {@code ratelimit.rejected} (peticiones rechazadas) y
+ * {@code ratelimit.keys} (claves en memoria), ambas con el tag class.
+ */
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final Map<RateLimitClass, GcraLimiter<Object>> limiters = new EnumMap<>(RateLimitClass.class);
+    private final Map<RateLimitClass, Counter> rejected = new EnumMap<>(RateLimitClass.class);
+    private final ScheduledExecutorService sweeper;
+
+    public RateLimiter(
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.sweep-interval:1m}") Duration sweepInterval) {
+        this.enabled = enabled;
+        for (RateLimitClass limitClass : RateLimitClass.values()) {
+            String prefix = "rate-limit." + limitClass.property() + ".";
+            GcraLimiter<Object> limiter = new GcraLimiter<>(
+                    environment.getRequiredProperty(prefix + "requests-per-second", Double.class),
+                    environment.getRequiredProperty(prefix + "burst", Integer.class));
+            limiters.put(limitClass, limiter);
+
+            String tag = limitClass.property();
+            rejected.put(limitClass, Counter.builder("ratelimit.rejected")
+                    .description("Requests rejected with 429 by the rate limiter")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+            Gauge.builder("ratelimit.keys", limiter, GcraLimiter::size)
+                    .description("Users or client IPs with a rate limit bucket in memory")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+        }
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Consume una petición de la clave (id de usuario o IP) en su clase.
+     *
+     * @return 0 si se acepta; si no, nanosegundos que hay que esperar
+     */
+    public long tryAcquire(RateLimitClass limitClass, Object key) {
+        long wait = limiters.get(limitClass).tryAcquire(key, System.nanoTime());
+        if (wait > 0) {
+            rejected.get(limitClass).increment();
+        }
+        return wait;
+    }
+
+    void sweep() {
+        long now = System.nanoTime();
+        limiters.values().forEach(limiter -> limiter.sweep(now));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.shutdownNow();
+    }
+}
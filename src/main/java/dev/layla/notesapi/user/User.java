@@ -1,7 +1,15 @@
 package dev.layla.notesapi.user;
 
+import dev.layla.notesapi.auth.UserPrincipal;
+import dev.layla.notesapi.common.id.TsidId;
+import dev.layla.notesapi.config.EntityCacheConfig;
 import dev.layla.notesapi.note.Note;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,18 +25,33 @@ import java.util.List;
  * UserDetails es la interfaz que Spring Security usa para representar
  * un usuario autenticado. Al implementarla, nuestra entidad User puede
  * ser usada directamente por el framework de seguridad.
+ *
+ * Los usuarios se cachean en la caché de segundo nivel (región "users") y el
+ * email es su natural id, con su propia región ("users-by-email"): findByEmail
+ * resuelve email -> id -> entidad sin ir a la BD.
  */
 @Entity
 @Table(name = "users")
-public class User implements UserDetails {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.USERS_REGION)
+@NaturalIdCache(region = EntityCacheConfig.USERS_BY_EMAIL_REGION)
+public class User implements UserDetails, UserPrincipal {
 
+    /**
+     * Id ordenado por tiempo generado en el proceso (ver Note).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TsidId
     private Long id;
 
     @Column(nullable = false, length = 100)
     private String name;
 
+    /**
+     * Natural id mutable: UserService permite cambiar el email y Hibernate
+     * actualiza la resolución cacheada al hacer flush.
+     */
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 150)
     private String email;
 
@@ -50,6 +73,14 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Epoch de los tokens JWT del usuario.
+     * Incrementarlo revoca todos los tokens emitidos antes.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int tokenEpoch = 0;
+
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Note> notes = new ArrayList<>();
 
@@ -72,6 +103,7 @@ public class User implements UserDetails {
     public String getEmail() { return email; }
     public Role getRole() { return role; }
     public LocalDateTime getCreatedAt() { return createdAt; }
+    public int getTokenEpoch() { return tokenEpoch; }
     public List<Note> getNotes() { return notes; }
 
     // ==================== SETTERS ====================
@@ -80,6 +112,7 @@ public class User implements UserDetails {
     public void setEmail(String email) { this.email = email; }
     public void setPassword(String password) { this.password = password; }
     public void setRole(Role role) { this.role = role; }
+    public void setTokenEpoch(int tokenEpoch) { this.tokenEpoch = tokenEpoch; }
 
     // ==================== IMPLEMENTACIÓN DE UserDetails ====================
     
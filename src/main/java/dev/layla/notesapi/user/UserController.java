@@ -5,12 +5,14 @@ import dev.layla.notesapi.user.dto.UpdateUserRequest;
 import dev.layla.notesapi.user.dto.UserResponse;
 import dev.layla.notesapi.note.dto.CreateNoteRequest;
 import dev.layla.notesapi.note.dto.NoteResponse;
+import dev.layla.notesapi.note.dto.NoteSummaryResponse;
 import dev.layla.notesapi.note.NoteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -41,6 +43,12 @@ public class UserController {
         return userService.getAll(pageable);
     }
 
+    @GetMapping(params = "count=false")
+    @Operation(summary = "Listar usuarios (sin total)", description = "Igual que el listado paginado, pero sin calcular el total")
+    public Slice<UserResponse> getAllSlice(@PageableDefault(size = 10) Pageable pageable) {
+        return userService.getAllSlice(pageable);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener usuario", description = "Obtiene un usuario por su ID")
     public UserResponse getById(@PathVariable Long id) {
@@ -62,13 +70,21 @@ public class UserController {
 
     
     @GetMapping("/{userId}/notes")
-    public Page<NoteResponse> getUserNotes(
+    public Page<NoteSummaryResponse> getUserNotes(
             @PathVariable Long userId,
             @PageableDefault(size = 10) Pageable pageable
     ) {
         return noteService.getAllByUser(userId, pageable);
     }
     
+    @GetMapping(value = "/{userId}/notes", params = "count=false")
+    public Slice<NoteSummaryResponse> getUserNotesSlice(
+            @PathVariable Long userId,
+            @PageableDefault(size = 10) Pageable pageable
+    ) {
+        return noteService.getAllByUserSlice(userId, pageable);
+    }
+
     @PostMapping("/{userId}/notes")
     @ResponseStatus(HttpStatus.CREATED)
     public NoteResponse createNoteForUser(
@@ -0,0 +1,11 @@
+package dev.layla.notesapi.user;
+
+import java.util.Optional;
+
+/**
+ * Búsqueda de usuarios por email (su natural id).
+ */
+public interface UserEmailLookup {
+
+    Optional<User> findByEmail(String email);
+}
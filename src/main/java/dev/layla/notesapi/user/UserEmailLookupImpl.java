@@ -0,0 +1,30 @@
+package dev.layla.notesapi.user;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Carga por natural id: la resolución email -> id sale de la región
+ * "users-by-email" y la entidad de "users", así que JwtAuthenticationFilter
+ * y el login no consultan la BD cuando el usuario está en caché.
+ * Una query derivada (WHERE email = ?) siempre iría a la BD.
+ */
+class UserEmailLookupImpl implements UserEmailLookup {
+
+    private final EntityManager entityManager;
+
+    UserEmailLookupImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
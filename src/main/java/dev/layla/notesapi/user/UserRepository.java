@@ -1,9 +1,38 @@
 package dev.layla.notesapi.user;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+/**
+ * findByEmail lo implementa {@link UserEmailLookupImpl} (natural id cacheado)
+ * en lugar de una query derivada.
+ */
+public interface UserRepository extends JpaRepository<User, Long>, UserEmailLookup {
+
+    /**
+     * Listado sin COUNT(*): Spring Data pide size + 1 filas para calcular hasNext.
+     */
+    Slice<User> findSliceBy(Pageable pageable);
+
+    @Query("SELECT u.tokenEpoch FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenEpochById(@Param("id") Long id);
+
+    /**
+     * Cambia solo el hash del password, y solo si sigue siendo oldHash. El resto
+     * de columnas (token_epoch, email, rol) no se tocan: un cambio hecho
+     * mientras tanto por otra petición se conserva.
+     *
+     * @return Filas actualizadas (0 si el password cambió entretanto)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :hash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("hash") String hash);
 }
@@ -1,5 +1,10 @@
 package dev.layla.notesapi.user;
 
+import dev.layla.notesapi.auth.PasswordHasher;
+import dev.layla.notesapi.auth.PrincipalCache;
+import dev.layla.notesapi.auth.TokenEpochs;
+import dev.layla.notesapi.config.replica.DataSourceRoute;
+import dev.layla.notesapi.note.search.NoteIndexer;
 import dev.layla.notesapi.user.dto.CreateUserRequest;
 import dev.layla.notesapi.user.dto.UpdateUserRequest;
 import dev.layla.notesapi.user.dto.UserResponse;
@@ -7,7 +12,7 @@ import dev.layla.notesapi.user.exception.UserNotFoundException;
 import dev.layla.notesapi.user.mapper.UserMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,12 +21,19 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final NoteIndexer noteIndexer;
+    private final PrincipalCache principalCache;
+    private final TokenEpochs tokenEpochs;
 
-    public UserService(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, UserMapper userMapper, PasswordHasher passwordHasher,
+                       NoteIndexer noteIndexer, PrincipalCache principalCache, TokenEpochs tokenEpochs) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.noteIndexer = noteIndexer;
+        this.principalCache = principalCache;
+        this.tokenEpochs = tokenEpochs;
     }
 
     /**
@@ -30,18 +42,28 @@ public class UserService {
      */
     public UserResponse create(CreateUserRequest request) {
         // Hasheamos el password antes de guardar
-        String hashedPassword = passwordEncoder.encode(request.password());
+        String hashedPassword = passwordHasher.encode(request.password());
         
         User user = new User(request.name(), request.email(), hashedPassword);
         User saved = userRepository.save(user);
         return userMapper.toResponse(saved);
     }
 
+    @Transactional(readOnly = true, label = DataSourceRoute.REPLICA_LABEL)
     public Page<UserResponse> getAll(Pageable pageable) {
         return userRepository.findAll(pageable)
                 .map(userMapper::toResponse);
     }
 
+    /**
+     * Igual que getAll(pageable) pero sin el COUNT(*) (modo ?count=false).
+     */
+    @Transactional(readOnly = true, label = DataSourceRoute.REPLICA_LABEL)
+    public Slice<UserResponse> getAllSlice(Pageable pageable) {
+        return userRepository.findSliceBy(pageable)
+                .map(userMapper::toResponse);
+    }
+
     public UserResponse getById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
@@ -53,6 +75,9 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
 
+        String previousEmail = user.getEmail();
+        Role previousRole = user.getRole();
+
         if (request.name() != null && !request.name().isBlank()) {
             user.setName(request.name());
         }
@@ -61,7 +86,19 @@ public class UserService {
             user.setEmail(request.email());
         }
 
+        // Los tokens emitidos (y el principal cacheado) ya no corresponden al usuario
+        boolean identityChanged = !previousEmail.equals(user.getEmail()) || previousRole != user.getRole();
+        if (identityChanged) {
+            user.setTokenEpoch(user.getTokenEpoch() + 1);
+        }
+
         User saved = userRepository.save(user);
+
+        if (identityChanged) {
+            principalCache.invalidate(previousEmail);
+            tokenEpochs.evict(saved.getId());
+        }
+
         return userMapper.toResponse(saved);
     }
 
@@ -69,5 +106,9 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
         userRepository.delete(user);
+        principalCache.invalidate(user.getEmail());
+        tokenEpochs.evict(id);
+        // Las notas se borran en cascada; también hay que sacarlas del índice
+        noteIndexer.removeOwner(id);
     }
 }
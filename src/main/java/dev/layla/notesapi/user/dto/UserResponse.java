@@ -1,12 +1,17 @@
 package dev.layla.notesapi.user.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
 import java.time.LocalDateTime;
 
 /**
  * DTO de respuesta para User.
  * Usando record de Java 17+ para inmutabilidad y menos código.
+ * El id va como string (ver NoteResponse).
  */
 public record UserResponse(
+        @JsonSerialize(using = ToStringSerializer.class)
         Long id,
         String name,
         String email,
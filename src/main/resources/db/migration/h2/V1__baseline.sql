@@ -0,0 +1,32 @@
+-- ========================================
+-- Esquema base (perfil dev, H2 en memoria).
+-- ========================================
+
+-- Secuencias de ids (allocationSize 50, ver Note/User)
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE notes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(150) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role ENUM ('ADMIN', 'USER') NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    token_epoch INTEGER DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE notes (
+    id BIGINT NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    content TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    archived BOOLEAN NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    user_id BIGINT NOT NULL,
+    CONSTRAINT pk_notes PRIMARY KEY (id),
+    CONSTRAINT fk_notes_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
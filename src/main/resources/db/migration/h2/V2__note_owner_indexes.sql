@@ -0,0 +1,7 @@
+-- ========================================
+-- Índices de las queries por propietario de NoteRepository
+-- (mismos que postgresql/V2__note_owner_indexes.sql).
+-- ========================================
+
+CREATE INDEX idx_notes_user_created ON notes (user_id, created_at, id);
+CREATE INDEX idx_notes_user_archived_created ON notes (user_id, archived, created_at, id);
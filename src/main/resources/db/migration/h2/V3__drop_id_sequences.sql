@@ -0,0 +1,8 @@
+-- ========================================
+-- Note y User generan sus ids en la aplicación (@TsidId): las secuencias ya
+-- no se usan. Los ids nuevos son mucho mayores que los de las secuencias, así
+-- que no chocan con los existentes y el orden por id se mantiene.
+-- ========================================
+
+DROP SEQUENCE IF EXISTS notes_seq;
+DROP SEQUENCE IF EXISTS users_seq;
@@ -0,0 +1,66 @@
+-- ========================================
+-- Esquema base: tablas, secuencias y objetos específicos de PostgreSQL.
+-- Es idempotente: en una base creada antes con ddl-auto=update (y el antiguo
+-- schema-postgresql.sql) no cambia nada y solo queda registrada como aplicada.
+-- ========================================
+
+-- Secuencias de ids (allocationSize 50, ver Note/User)
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS notes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(150) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL CHECK (role IN ('ADMIN', 'USER')),
+    created_at TIMESTAMP(6) NOT NULL,
+    token_epoch INTEGER DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS notes (
+    id BIGINT NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    content TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    archived BOOLEAN NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    user_id BIGINT NOT NULL,
+    CONSTRAINT pk_notes PRIMARY KEY (id),
+    CONSTRAINT fk_notes_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Columnas añadidas después de crear las tablas: una base antigua puede no tenerlas
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_epoch INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE notes ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+ALTER TABLE notes ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Full-text search (notes.search.backend=fulltext)
+-- Columna tsvector generada: el título pesa más (A) que el contenido (B) en ts_rank.
+ALTER TABLE notes ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(content, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_notes_search_vector ON notes USING GIN (search_vector);
+
+-- Búsqueda por subcadena (notes.search.backend=trigram)
+-- Índices GIN de pg_trgm sobre las mismas expresiones que usan las queries LIKE
+-- (LOWER(title)/LOWER(content) LIKE '%query%'), así que el resultado no cambia.
+-- CREATE EXTENSION necesita un usuario con permisos suficientes (o crearla antes).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_notes_title_trgm ON notes USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_notes_content_trgm ON notes USING GIN (lower(content) gin_trgm_ops);
+
+-- Las tablas creadas antes de las secuencias usaban IDENTITY: se adelanta la
+-- secuencia más allá del id máximo para que los ids nuevos no choquen.
+SELECT setval('notes_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM notes), (SELECT last_value FROM notes_seq)));
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users), (SELECT last_value FROM users_seq)));
+
+-- Notas anteriores a la columna updated_at (ver Note): se rellenan con created_at
+UPDATE notes SET updated_at = created_at WHERE updated_at IS NULL;
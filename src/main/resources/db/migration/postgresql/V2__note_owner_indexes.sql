@@ -0,0 +1,21 @@
+-- migration: no-transaction
+-- ========================================
+-- Índices de las queries por propietario de NoteRepository.
+-- ========================================
+
+-- CONCURRENTLY: la tabla sigue aceptando escrituras mientras se construyen los
+-- índices. Si la construcción falla, PostgreSQL deja el índice marcado como
+-- inválido y IF NOT EXISTS lo daría por bueno: cada índice se borra antes de
+-- crearlo para que el script pueda repetirse.
+
+-- Listados de un usuario ordenados por createdAt, paginación keyset
+-- (createdAt DESC, id DESC, recorrido hacia atrás), búsquedas LIKE y full-text
+-- filtradas por usuario y export. También sirve a la FK notes.user_id (borrar
+-- un usuario no recorre toda la tabla).
+DROP INDEX CONCURRENTLY IF EXISTS idx_notes_user_created;
+CREATE INDEX CONCURRENTLY idx_notes_user_created ON notes (user_id, created_at, id);
+
+-- Los mismos listados con ?archived=true|false. El COUNT(*) de Page se resuelve
+-- solo con el índice (index-only scan).
+DROP INDEX CONCURRENTLY IF EXISTS idx_notes_user_archived_created;
+CREATE INDEX CONCURRENTLY idx_notes_user_archived_created ON notes (user_id, archived, created_at, id);
@@ -0,0 +1,96 @@
+package dev.layla.notesapi.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.layla.notesapi.auth.dto.LoginRequest;
+import dev.layla.notesapi.note.NoteRepository;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    NoteRepository noteRepository;
+    @Autowired
+    PrincipalCache principalCache;
+    @Autowired
+    AuthService authService;
+    @MockitoSpyBean
+    PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setup() {
+        noteRepository.deleteAll();
+        userRepository.deleteAll();
+        principalCache.invalidateAll();
+    }
+
+    @Test
+    void login_shouldRehashPassword_whenBcryptCostChanged() throws Exception {
+        // Hash de antes de subir auth.bcrypt.strength (coste 4)
+        User user = userRepository.save(new User("Layla", "rehash@example.com",
+                new BCryptPasswordEncoder(4).encode("password123")));
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("rehash@example.com", "password123"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", notNullValue()));
+
+        String stored = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(stored.startsWith("$2a$10$"), stored);
+
+        // El hash nuevo sigue sirviendo para entrar
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("rehash@example.com", "password123"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void login_rehash_shouldKeepATokenRevocationCommittedDuringTheHash() throws Exception {
+        User user = userRepository.save(new User("Layla", "rehash@example.com",
+                new BCryptPasswordEncoder(4).encode("password123")));
+
+        // Logout-all entre la lectura del usuario y el guardado del hash nuevo
+        doAnswer(invocation -> {
+            Object verification = invocation.callRealMethod();
+            authService.revokeTokens(user.getId());
+            return verification;
+        }).when(passwordHasher).verify(any(), any());
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("rehash@example.com", "password123"))))
+                .andExpect(status().isOk());
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(1, stored.getTokenEpoch());
+        assertTrue(stored.getPassword().startsWith("$2a$10$"), stored.getPassword());
+        assertTrue(principalCache.get("rehash@example.com").orElseThrow().getPassword().startsWith("$2a$10$"));
+    }
+}
@@ -0,0 +1,50 @@
+package dev.layla.notesapi.auth;
+
+import dev.layla.notesapi.user.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "MiClaveSecretaSuperSeguraParaJWTQueDebeTenerAlMenos256Bits!";
+
+    private final User user = new User("Layla", "layla@example.com", "hashed");
+
+    @Test
+    void verify_shouldReturnClaims_andReuseThemForTheSameToken() {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 100, new SimpleMeterRegistry());
+        String token = jwtService.generateToken(user);
+
+        Optional<Claims> first = jwtService.verify(token);
+        Optional<Claims> second = jwtService.verify(token);
+
+        assertTrue(first.isPresent());
+        assertEquals("layla@example.com", first.get().getSubject());
+        assertSame(first.get(), second.get());
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    void verify_shouldRejectTamperedTokens() {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 100, new SimpleMeterRegistry());
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(jwtService.verify(tampered).isEmpty());
+        assertTrue(jwtService.verify("not-a-jwt").isEmpty());
+    }
+
+    @Test
+    void verify_shouldRejectExpiredTokens() {
+        JwtService jwtService = new JwtService(SECRET, -1_000, 100, new SimpleMeterRegistry());
+        String token = jwtService.generateToken(user);
+
+        assertTrue(jwtService.verify(token).isEmpty());
+        assertFalse(jwtService.isTokenValid(token, user));
+    }
+}
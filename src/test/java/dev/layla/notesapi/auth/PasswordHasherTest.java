@@ -0,0 +1,141 @@
+package dev.layla.notesapi.auth;
+
+import dev.layla.notesapi.auth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void verify_shouldUpgradeHash_whenCostDiffersFromConfigured() {
+        hasher = newHasher(new BCryptPasswordEncoder(5), 5, 1, 1, Duration.ofSeconds(5));
+        String oldHash = new BCryptPasswordEncoder(4).encode("secret123");
+
+        PasswordHasher.Verification verification = hasher.verify("secret123", oldHash);
+
+        assertTrue(verification.matches());
+        assertTrue(verification.upgradedHash().startsWith("$2a$05$"));
+        assertNull(hasher.verify("secret123", verification.upgradedHash()).upgradedHash());
+        assertFalse(hasher.verify("wrong", oldHash).matches());
+        assertNull(hasher.verify("wrong", oldHash).upgradedHash());
+    }
+
+    @Test
+    void verifyDummy_shouldRunInThePool_andBeRejectedWhenItIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        hasher = newHasher(new BlockingEncoder(started, release), 10, 1, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        waitUntilQueued(1);
+
+        // Un email desconocido ocupa el pool igual que un login real
+        assertThrows(PasswordHashingBusyException.class, () -> hasher.verifyDummy("secret123"));
+        assertEquals(1.0, meterRegistry.get("auth.password.rejected")
+                .tags("operation", "verify", "reason", "saturated").counter().count());
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+        hasher.verifyDummy("secret123");
+        assertEquals(1, meterRegistry.get("auth.password.hash").tag("operation", "verify").timer().count());
+    }
+
+    @Test
+    void encode_shouldRejectImmediately_whenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        hasher = newHasher(new BlockingEncoder(started, release), 10, 1, 1, Duration.ofSeconds(5));
+
+        // Uno ocupa el único hilo y otro la única plaza de la cola
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        waitUntilQueued(1);
+
+        PasswordHashingBusyException e = assertThrows(PasswordHashingBusyException.class, () -> hasher.encode("c"));
+        assertEquals(Duration.ofSeconds(1), e.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("auth.password.rejected").tag("reason", "saturated").counter().count());
+
+        release.countDown();
+        assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_shouldGiveUp_afterTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        hasher = newHasher(new BlockingEncoder(new CountDownLatch(1), release), 10, 1, 1, Duration.ofMillis(50));
+
+        assertThrows(PasswordHashingBusyException.class, () -> hasher.encode("a"));
+        assertEquals(1.0, meterRegistry.get("auth.password.rejected").tag("reason", "timeout").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void needsRehash_shouldIgnoreNonBcryptHashes() {
+        hasher = newHasher(new BCryptPasswordEncoder(10), 10, 1, 1, Duration.ofSeconds(5));
+
+        assertTrue(hasher.needsRehash("$2a$04$abcdefghijklmnopqrstuv"));
+        assertFalse(hasher.needsRehash("$2a$10$abcdefghijklmnopqrstuv"));
+        assertFalse(hasher.needsRehash("{noop}plain"));
+    }
+
+    private PasswordHasher newHasher(PasswordEncoder encoder, int strength, int threads, int queueCapacity,
+                                     Duration timeout) {
+        return new PasswordHasher(encoder, new AuthMetrics(meterRegistry), meterRegistry,
+                strength, threads, queueCapacity, timeout, Duration.ofSeconds(1));
+    }
+
+    private void waitUntilQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "task was not queued");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Encoder que no termina hasta que el test lo libera.
+     */
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
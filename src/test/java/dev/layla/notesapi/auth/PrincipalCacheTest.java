@@ -0,0 +1,105 @@
+package dev.layla.notesapi.auth;
+
+import dev.layla.notesapi.note.NoteRepository;
+import dev.layla.notesapi.note.search.NoteIndexer;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import dev.layla.notesapi.user.UserService;
+import dev.layla.notesapi.user.dto.UpdateUserRequest;
+import dev.layla.notesapi.user.mapper.UserMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+    private UserService userService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+        userService = new UserService(userRepository, new UserMapper(), mock(PasswordHasher.class),
+                new NoteIndexer(mock(NoteRepository.class), List.of()), principalCache, mock(TokenEpochs.class));
+
+        user = new User("Layla", "layla@example.com", "password123");
+        ReflectionTestUtils.setField(user, "id", 1L);
+        when(userRepository.findByEmail("layla@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+    }
+
+    @Test
+    void get_shouldServeRepeatedLookupsFromCache() {
+        assertSame(user, principalCache.get("layla@example.com").orElseThrow());
+        assertSame(user, principalCache.get("layla@example.com").orElseThrow());
+
+        verify(userRepository, times(1)).findByEmail("layla@example.com");
+    }
+
+    @Test
+    void get_shouldNotCacheUnknownEmails() {
+        when(userRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        assertTrue(principalCache.get("nobody@example.com").isEmpty());
+        assertTrue(principalCache.get("nobody@example.com").isEmpty());
+
+        verify(userRepository, times(2)).findByEmail("nobody@example.com");
+    }
+
+    @Test
+    void update_shouldInvalidatePreviousEmail_whenEmailChanges() {
+        principalCache.get("layla@example.com");
+
+        userService.update(1L, new UpdateUserRequest(null, "layla@new.example.com"));
+        principalCache.get("layla@example.com");
+
+        verify(userRepository, times(2)).findByEmail("layla@example.com");
+    }
+
+    @Test
+    void update_shouldKeepEntry_whenOnlyNameChanges() {
+        principalCache.get("layla@example.com");
+
+        userService.update(1L, new UpdateUserRequest("Layla B.", null));
+        principalCache.get("layla@example.com");
+
+        verify(userRepository, times(1)).findByEmail("layla@example.com");
+    }
+
+    @Test
+    void delete_shouldInvalidateEntry() {
+        principalCache.get("layla@example.com");
+
+        userService.delete(1L);
+        principalCache.get("layla@example.com");
+
+        verify(userRepository, times(2)).findByEmail("layla@example.com");
+    }
+
+    @Test
+    void metrics_shouldBePublishedWithPrincipalsTag() {
+        principalCache.get("layla@example.com");
+        principalCache.get("layla@example.com");
+
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", "principals", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", "principals", "result", "miss").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.size").tag("cache", "principals").gauge().value());
+    }
+}
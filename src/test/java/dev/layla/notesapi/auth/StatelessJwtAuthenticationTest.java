@@ -0,0 +1,102 @@
+package dev.layla.notesapi.auth;
+
+import dev.layla.notesapi.note.NoteRepository;
+import dev.layla.notesapi.note.NoteService;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "jwt.stateless=true")
+@AutoConfigureMockMvc
+class StatelessJwtAuthenticationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @MockitoSpyBean
+    UserRepository userRepository;
+    @Autowired
+    NoteRepository noteRepository;
+    @Autowired
+    JwtService jwtService;
+    @MockitoSpyBean
+    PrincipalCache principalCache;
+    @MockitoSpyBean
+    NoteService noteService;
+
+    private User testUser;
+    private String jwtToken;
+
+    @BeforeEach
+    void setup() {
+        noteRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = userRepository.save(new User("Layla", "stateless@example.com", "password123"));
+        jwtToken = jwtService.generateToken(testUser);
+    }
+
+    @Test
+    void getNotes_shouldAuthenticateFromTokenClaims() throws Exception {
+        clearInvocations(userRepository, principalCache);
+        AtomicReference<Object> principal = new AtomicReference<>();
+        doAnswer(invocation -> {
+            principal.set(SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+            return invocation.callRealMethod();
+        }).when(noteService).getAll(any(), any(), any(Pageable.class));
+
+        mockMvc.perform(get("/notes")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+
+        TokenPrincipal tokenPrincipal = assertInstanceOf(TokenPrincipal.class, principal.get());
+        assertEquals(testUser.getId(), tokenPrincipal.getId());
+
+        // El principal sale de los claims: ni la caché de principals ni la BD por email
+        verify(principalCache, never()).get(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void logoutAll_shouldRevokePreviouslyIssuedTokens() throws Exception {
+        mockMvc.perform(post("/auth/logout-all")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/notes")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isForbidden());
+
+        // Un token nuevo lleva el epoch actual
+        String freshToken = jwtService.generateToken(userRepository.findById(testUser.getId()).orElseThrow());
+        mockMvc.perform(get("/notes")
+                .header("Authorization", "Bearer " + freshToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void logoutAll_shouldReturn403_withoutToken() throws Exception {
+        mockMvc.perform(post("/auth/logout-all"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,96 @@
+package dev.layla.notesapi.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TsidFactoryTest {
+
+    private static final long NOW = Instant.parse("2026-03-01T10:00:00Z").toEpochMilli();
+
+    @Test
+    void next_shouldEncodeTimestampAndNode() {
+        TsidFactory factory = new TsidFactory(513, () -> NOW);
+
+        long id = factory.next();
+
+        assertTrue(id > 0);
+        assertEquals(Instant.ofEpochMilli(NOW), TsidFactory.timestamp(id));
+        assertEquals(513, TsidFactory.node(id));
+    }
+
+    @Test
+    void next_shouldFollowTheClock_andNotDependOnTheNode() {
+        AtomicLong clock = new AtomicLong(NOW);
+        long early = new TsidFactory(1023, clock::get).next();
+        clock.addAndGet(1);
+        long later = new TsidFactory(0, clock::get).next();
+
+        assertTrue(later > early);
+    }
+
+    @Test
+    void next_shouldCarryIntoTheNextMillisecond_whenTheSequenceRunsOut() {
+        TsidFactory factory = new TsidFactory(7, () -> NOW);
+
+        long previous = factory.next();
+        for (int i = 1; i < 4096 * 2 + 1; i++) {
+            long id = factory.next();
+            assertTrue(id > previous);
+            previous = id;
+        }
+
+        assertEquals(Instant.ofEpochMilli(NOW + 2), TsidFactory.timestamp(previous));
+        assertEquals(7, TsidFactory.node(previous));
+    }
+
+    @Test
+    void next_shouldStayIncreasing_whenTheClockGoesBack() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TsidFactory factory = new TsidFactory(1, clock::get);
+        long before = factory.next();
+
+        clock.set(NOW - 5_000);
+
+        assertTrue(factory.next() > before);
+    }
+
+    @Test
+    void next_shouldNotRepeatIds_acrossThreads() throws InterruptedException {
+        TsidFactory factory = new TsidFactory(3, System::currentTimeMillis);
+        int threads = 4;
+        int perThread = 50_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(factory.next());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void constructor_shouldRejectNodesOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new TsidFactory(1024, () -> NOW));
+        assertThrows(IllegalArgumentException.class, () -> new TsidFactory(-1, () -> NOW));
+    }
+}
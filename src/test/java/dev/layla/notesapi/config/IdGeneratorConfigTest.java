@@ -0,0 +1,35 @@
+package dev.layla.notesapi.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorConfigTest {
+
+    @Test
+    void resolveNode_shouldUseTheConfiguredNode() {
+        MockEnvironment environment = new MockEnvironment().withProperty("notes.id.node", " 17 ");
+        environment.setActiveProfiles("prod");
+
+        assertEquals(17, IdGeneratorConfig.resolveNode(environment));
+    }
+
+    @Test
+    void resolveNode_shouldFail_whenMissingOutsideDev() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+
+        assertThrows(IllegalStateException.class, () -> IdGeneratorConfig.resolveNode(environment));
+    }
+
+    @Test
+    void resolveNode_shouldPickARandomNode_inDev() {
+        MockEnvironment environment = new MockEnvironment().withProperty("notes.id.node", "");
+        environment.setActiveProfiles("dev");
+
+        int node = IdGeneratorConfig.resolveNode(environment);
+
+        assertTrue(node >= 0 && node <= 1023);
+    }
+}
@@ -0,0 +1,124 @@
+package dev.layla.notesapi.config.migration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigratorTest {
+
+    private final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+    private SimpleDriverDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:migrator-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void migrate_shouldApplyEachVersionOnce_inOrder() {
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, resolver, "classpath:db/migration");
+
+        int applied = migrator.migrate();
+
+        assertTrue(applied >= 2);
+        assertEquals(applied, jdbc.queryForObject("SELECT count(*) FROM schema_history", Integer.class));
+        assertEquals(1, jdbc.queryForObject("SELECT min(version) FROM schema_history", Integer.class));
+        assertEquals(2, jdbc.queryForObject(
+                "SELECT count(*) FROM information_schema.indexes WHERE table_name = 'NOTES' " +
+                "AND index_name IN ('IDX_NOTES_USER_CREATED', 'IDX_NOTES_USER_ARCHIVED_CREATED')", Integer.class));
+
+        assertEquals(0, migrator.migrate());
+    }
+
+    @Test
+    void migrate_shouldApplyOnlyNewVersions(@TempDir Path dir) throws IOException {
+        Path h2 = Files.createDirectories(dir.resolve("h2"));
+        Files.writeString(h2.resolve("V1__create_things.sql"), "CREATE TABLE things (id BIGINT PRIMARY KEY);");
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, resolver, dir.toUri().toString());
+        assertEquals(1, migrator.migrate());
+
+        Files.writeString(h2.resolve("V2__add_name.sql"), "ALTER TABLE things ADD COLUMN name VARCHAR(50);");
+        Files.writeString(h2.resolve("V10__insert_thing.sql"), "INSERT INTO things (id, name) VALUES (1, 'a');");
+
+        // V10 va después de V2 (orden numérico, no alfabético)
+        assertEquals(2, migrator.migrate());
+        assertEquals("a", jdbc.queryForObject("SELECT name FROM things WHERE id = 1", String.class));
+    }
+
+    @Test
+    void migrate_shouldFail_whenAnAppliedMigrationChanged(@TempDir Path dir) throws IOException {
+        Path h2 = Files.createDirectories(dir.resolve("h2"));
+        Path script = h2.resolve("V1__create_things.sql");
+        Files.writeString(script, "CREATE TABLE things (id BIGINT PRIMARY KEY);");
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, resolver, dir.toUri().toString());
+        migrator.migrate();
+
+        Files.writeString(script, "CREATE TABLE things (id BIGINT PRIMARY KEY, name VARCHAR(50));");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, migrator::migrate);
+        assertTrue(e.getMessage().contains("V1__create_things.sql"));
+    }
+
+    @Test
+    void migrate_shouldNotRecordAFailedMigration(@TempDir Path dir) throws IOException {
+        Path h2 = Files.createDirectories(dir.resolve("h2"));
+        Files.writeString(h2.resolve("V1__broken.sql"), "CREATE TABLE things (id BIGINT PRIMARY KEY);\nNOT SQL;");
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, resolver, dir.toUri().toString());
+
+        assertThrows(IllegalStateException.class, migrator::migrate);
+        assertEquals(0, jdbc.queryForObject("SELECT count(*) FROM schema_history", Integer.class));
+    }
+
+    @Test
+    void load_shouldReadTheNoTransactionMarker() {
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, resolver, "classpath:db/migration");
+
+        assertFalse(migrator.load("postgresql").get(1).transactional());
+        assertTrue(migrator.load("h2").get(1).transactional());
+    }
+
+    @Test
+    void migrate_withoutTransaction_shouldKeepExecutedStatements_andForgetTheFailedVersion(@TempDir Path dir)
+            throws IOException {
+        Path h2 = Files.createDirectories(dir.resolve("h2"));
+        Files.writeString(h2.resolve("V1__create_things.sql"), "CREATE TABLE things (id BIGINT PRIMARY KEY);");
+        Files.writeString(h2.resolve("V2__fill_things.sql"),
+                "-- migration: no-transaction\nINSERT INTO things (id) VALUES (1);\nNOT SQL;");
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, resolver, dir.toUri().toString());
+
+        assertThrows(IllegalStateException.class, migrator::migrate);
+        // Sin transacción no hay rollback: el INSERT se queda
+        assertEquals(1, jdbc.queryForObject("SELECT count(*) FROM things", Integer.class));
+        assertEquals(1, jdbc.queryForObject("SELECT max(version) FROM schema_history", Integer.class));
+
+        Files.writeString(h2.resolve("V2__fill_things.sql"),
+                "-- migration: no-transaction\nMERGE INTO things (id) KEY (id) VALUES (1);");
+        assertEquals(1, migrator.migrate());
+        assertEquals(2, jdbc.queryForObject("SELECT max(version) FROM schema_history", Integer.class));
+    }
+
+    @Test
+    void migrate_shouldKeepTheScriptError_whenForgettingTheVersionFails(@TempDir Path dir) throws IOException {
+        Path h2 = Files.createDirectories(dir.resolve("h2"));
+        // Sin schema_history el DELETE de la limpieza también falla
+        Files.writeString(h2.resolve("V1__broken.sql"), "DROP TABLE schema_history;\nNOT SQL;");
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, resolver, dir.toUri().toString());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, migrator::migrate);
+        assertTrue(e.getCause().getMessage().contains("NOT SQL"), e.getCause().getMessage());
+        assertEquals(1, e.getSuppressed().length);
+    }
+}
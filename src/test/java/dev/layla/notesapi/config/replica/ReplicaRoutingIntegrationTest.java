@@ -0,0 +1,203 @@
+package dev.layla.notesapi.config.replica;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.layla.notesapi.auth.JwtService;
+import dev.layla.notesapi.auth.PrincipalCache;
+import dev.layla.notesapi.auth.UserPrincipal;
+import dev.layla.notesapi.note.Note;
+import dev.layla.notesapi.note.NoteRepository;
+import dev.layla.notesapi.note.NoteService;
+import dev.layla.notesapi.note.dto.CreateNoteRequest;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Perfil replica con dos bases H2 en memoria como primaria y réplica.
+ * No hay replicación real: {@link #replicate()} copia la primaria a la réplica,
+ * así que lo escrito después solo se ve al leer de la primaria.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "notes.datasource.replica.url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "notes.datasource.replica.username=sa",
+        "notes.datasource.replica.password=",
+        "notes.datasource.replica.read-your-writes-window=1m"
+})
+@ActiveProfiles({"dev", "replica"})
+@AutoConfigureMockMvc
+@Import(ReplicaRoutingIntegrationTest.ReadThenWriteController.class)
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    NoteRepository noteRepository;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    PrincipalCache principalCache;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    DataSource primaryDataSource;
+
+    private User testUser;
+    private String jwtToken;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        noteRepository.deleteAll();
+        userRepository.deleteAll();
+        principalCache.invalidateAll();
+
+        // Guardado sin usuario autenticado: no activa read-your-writes
+        testUser = userRepository.save(new User("Layla", "layla@example.com", "password123"));
+        jwtToken = jwtService.generateToken(testUser);
+        replicate();
+    }
+
+    @Test
+    void listNotes_shouldReadFromReplica() throws Exception {
+        noteRepository.save(new Note("Not replicated yet", "x", testUser));
+
+        mockMvc.perform(get("/notes").header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+
+        replicate();
+
+        mockMvc.perform(get("/notes").header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void listNotes_shouldReadFromPrimary_rightAfterTheUserWrites() throws Exception {
+        mockMvc.perform(post("/notes")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateNoteRequest("Mine", "y"))))
+                .andExpect(status().isCreated());
+
+        // La réplica no tiene la nota, pero el usuario acaba de escribir
+        mockMvc.perform(get("/notes").header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Mine"));
+    }
+
+    @Test
+    void writeAfterReplicaRead_inTheSameRequest_shouldGoToPrimary() throws Exception {
+        mockMvc.perform(post("/test/read-then-write").header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+
+        // Con open-in-view la escritura habría reutilizado la conexión de la réplica
+        try (Connection primary = primaryDataSource.getConnection();
+             Statement statement = primary.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT count(*) FROM notes WHERE title = 'After read'")) {
+            rows.next();
+            assertEquals(1, rows.getInt(1));
+        }
+    }
+
+    @Test
+    void replicaReads_shouldNotFillTheEntityCache() throws Exception {
+        Note note = noteRepository.save(new Note("Cached?", "x", testUser));
+        User other = userRepository.save(new User("Other", "other@example.com", "password123"));
+        replicate();
+        Cache cache = entityManagerFactory.getCache();
+        cache.evictAll();
+
+        mockMvc.perform(get("/notes/" + note.getId()).header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/users").header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+
+        assertFalse(cache.contains(Note.class, note.getId()));
+        // testUser lo carga la autenticación desde la primaria; other solo el listado
+        assertFalse(cache.contains(User.class, other.getId()));
+
+        // Las lecturas de la primaria sí la rellenan
+        noteRepository.findById(note.getId());
+        assertTrue(cache.contains(Note.class, note.getId()));
+    }
+
+    /**
+     * Lectura etiquetada para la réplica seguida de una escritura, en la misma petición.
+     */
+    @RestController
+    static class ReadThenWriteController {
+
+        private final NoteService noteService;
+
+        ReadThenWriteController(NoteService noteService) {
+            this.noteService = noteService;
+        }
+
+        @PostMapping("/test/read-then-write")
+        void readThenWrite(@AuthenticationPrincipal UserPrincipal currentUser) {
+            noteService.getAll(currentUser.getId(), null, PageRequest.of(0, 10));
+            noteService.createForUser(currentUser.getId(), new CreateNoteRequest("After read", "z"));
+        }
+    }
+
+    /**
+     * Sustituye el contenido de la réplica por un volcado de la primaria.
+     */
+    private void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = primaryDataSource.getConnection();
+             Statement statement = primary.createStatement();
+             ResultSet rows = statement.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS")) {
+            while (rows.next()) {
+                script.add(rows.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
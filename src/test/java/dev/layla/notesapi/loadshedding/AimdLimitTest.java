@@ -0,0 +1,100 @@
+package dev.layla.notesapi.loadshedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AimdLimitTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long THRESHOLD = 100 * MS;
+
+    @Test
+    void tryAcquire_shouldGiveEachPriorityItsShareOfTheLimit() {
+        AimdLimit limit = new AimdLimit(10, 1, 100, 0.5, THRESHOLD);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire(0.5));
+        }
+        assertFalse(limit.tryAcquire(0.5));
+
+        // Las peticiones con más cuota siguen entrando hasta el límite completo
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire(1.0));
+        }
+        assertFalse(limit.tryAcquire(1.0));
+        assertEquals(10, limit.inFlight());
+    }
+
+    @Test
+    void release_shouldDecreaseOncePerRoundTrip_onSlowResponses() {
+        AimdLimit limit = new AimdLimit(20, 4, 100, 0.5, THRESHOLD);
+        long start = 1_000 * MS;
+        limit.tryAcquire(1.0);
+        limit.tryAcquire(1.0);
+        limit.tryAcquire(1.0);
+
+        limit.release(start, start + 200 * MS, false, true);
+        assertEquals(10, limit.limit());
+
+        // Admitida antes de la bajada: no vuelve a bajar
+        limit.release(start + MS, start + 210 * MS, false, true);
+        assertEquals(10, limit.limit());
+
+        // Un error de una petición admitida después sí cuenta
+        limit.release(start + 205 * MS, start + 220 * MS, true, true);
+        assertEquals(5, limit.limit());
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void release_withoutLatencySignal_shouldOnlyDecreaseOnFailures() {
+        AimdLimit limit = new AimdLimit(20, 4, 100, 0.5, THRESHOLD);
+        limit.tryAcquire(1.0);
+        limit.tryAcquire(1.0);
+
+        // Un export de 10 minutos que termina bien no dice nada de la carga
+        limit.release(0, 600_000 * MS, false, false);
+        assertEquals(20, limit.limit());
+
+        limit.release(MS, 2 * MS, true, false);
+        assertEquals(10, limit.limit());
+    }
+
+    @Test
+    void release_shouldNeverGoBelowMinLimit() {
+        AimdLimit limit = new AimdLimit(5, 4, 100, 0.5, THRESHOLD);
+        limit.tryAcquire(1.0);
+
+        limit.release(0, 500 * MS, true, true);
+
+        assertEquals(4, limit.limit());
+    }
+
+    @Test
+    void release_shouldIncreaseOnFastResponses_onlyWhileTheLimitIsUsed() {
+        AimdLimit limit = new AimdLimit(4, 1, 5, 0.5, THRESHOLD);
+
+        // Una sola petición en curso con límite 4: no hace falta subir
+        limit.tryAcquire(1.0);
+        limit.release(0, MS, false, true);
+        assertEquals(4, limit.limit());
+
+        limit.tryAcquire(1.0);
+        limit.tryAcquire(1.0);
+        limit.release(0, MS, false, true);
+        assertEquals(4.25, limit.limit());
+
+        for (int i = 0; i < 20; i++) {
+            limit.tryAcquire(1.0);
+            limit.tryAcquire(1.0);
+            limit.tryAcquire(1.0);
+            limit.release(0, MS, false, true);
+            limit.release(0, MS, false, true);
+            limit.release(0, MS, false, true);
+        }
+        assertEquals(5, limit.limit());
+    }
+}
@@ -0,0 +1,94 @@
+package dev.layla.notesapi.loadshedding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Las peticiones en curso se simulan anidando llamadas al filtro dentro de la cadena.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimiter limiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Límite 4: search (expensive, 50%) cabe 2 veces, las lecturas por id 4
+        limiter = new ConcurrencyLimiter(meterRegistry, true, 4, 4, 4, 0.9,
+                Duration.ofSeconds(10), 0.75, 0.5);
+        filter = new ConcurrencyLimitFilter(limiter, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void expensiveRequests_shouldBeShedFirst_whileCheapReadsStillPass() throws Exception {
+        MockHttpServletResponse rejectedSearch = new MockHttpServletResponse();
+        MockHttpServletResponse acceptedRead = new MockHttpServletResponse();
+
+        FilterChain innermost = (req, res) -> {
+            perform("GET", "/notes/search", rejectedSearch, (r, s) -> fail("search should be shed"));
+            perform("GET", "/notes/42", acceptedRead, (r, s) -> { });
+        };
+        perform("GET", "/notes/search", new MockHttpServletResponse(),
+                (req, res) -> perform("GET", "/notes/search", new MockHttpServletResponse(), innermost));
+
+        assertEquals(503, rejectedSearch.getStatus());
+        assertEquals("1", rejectedSearch.getHeader("Retry-After"));
+        assertTrue(rejectedSearch.getContentAsString().contains("Server is busy"));
+        assertEquals(200, acceptedRead.getStatus());
+        assertEquals(1.0, meterRegistry.get("loadshedding.rejected").tag("priority", "expensive").counter().count());
+        assertEquals(0.0, meterRegistry.get("loadshedding.inflight").gauge().value());
+    }
+
+    @Test
+    void slowExpensiveRequests_shouldNotLowerTheLimit_whileSlowCheapReadsDo() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimiter fastThreshold = new ConcurrencyLimiter(registry, true, 20, 4, 100, 0.5,
+                Duration.ofMillis(1), 0.8, 0.5);
+        ConcurrencyLimitFilter slowFilter = new ConcurrencyLimitFilter(fastThreshold, new ObjectMapper());
+        FilterChain slow = (req, res) -> sleep(20);
+
+        slowFilter.doFilter(new MockHttpServletRequest("GET", "/notes/export"), new MockHttpServletResponse(), slow);
+        slowFilter.doFilter(new MockHttpServletRequest("POST", "/notes/import"), new MockHttpServletResponse(), slow);
+        assertEquals(20.0, registry.get("loadshedding.limit").gauge().value());
+
+        slowFilter.doFilter(new MockHttpServletRequest("GET", "/notes/42"), new MockHttpServletResponse(), slow);
+        assertEquals(10.0, registry.get("loadshedding.limit").gauge().value());
+    }
+
+    @Test
+    void requestPriority_shouldClassifyByPathAndMethod() {
+        assertEquals(RequestPriority.CHEAP, RequestPriority.of(new MockHttpServletRequest("GET", "/notes/7")));
+        assertEquals(RequestPriority.CHEAP, RequestPriority.of(new MockHttpServletRequest("GET", "/users/7")));
+        assertEquals(RequestPriority.STANDARD, RequestPriority.of(new MockHttpServletRequest("PUT", "/notes/7")));
+        assertEquals(RequestPriority.STANDARD, RequestPriority.of(new MockHttpServletRequest("GET", "/notes")));
+        assertEquals(RequestPriority.EXPENSIVE, RequestPriority.of(new MockHttpServletRequest("GET", "/notes/search")));
+        assertEquals(RequestPriority.EXPENSIVE, RequestPriority.of(new MockHttpServletRequest("POST", "/notes/import")));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void perform(String method, String uri, MockHttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+    }
+}
@@ -0,0 +1,162 @@
+package dev.layla.notesapi.note;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.layla.notesapi.auth.JwtService;
+import dev.layla.notesapi.auth.PrincipalCache;
+import dev.layla.notesapi.note.dto.BatchCreateNotesRequest;
+import dev.layla.notesapi.note.dto.BatchDeleteNotesRequest;
+import dev.layla.notesapi.note.dto.BatchUpdateNoteItem;
+import dev.layla.notesapi.note.dto.BatchUpdateNotesRequest;
+import dev.layla.notesapi.note.dto.CreateNoteRequest;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class NoteBatchControllerIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    NoteRepository noteRepository;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    PrincipalCache principalCache;
+
+    private User testUser;
+    private User otherUser;
+    private String jwtToken;
+
+    @BeforeEach
+    void setup() {
+        noteRepository.deleteAll();
+        userRepository.deleteAll();
+        principalCache.invalidateAll();
+
+        testUser = userRepository.save(new User("Layla", "layla@example.com", "password123"));
+        otherUser = userRepository.save(new User("Other", "other@example.com", "password"));
+        jwtToken = jwtService.generateToken(testUser);
+    }
+
+    @Test
+    void createBatch_shouldCreateValidNotes_andReportInvalidOnes() throws Exception {
+        BatchCreateNotesRequest req = new BatchCreateNotesRequest(List.of(
+                new CreateNoteRequest("First", "a"),
+                new CreateNoteRequest("", "missing title"),
+                new CreateNoteRequest("Third", "c")));
+
+        mockMvc.perform(post("/notes/batch")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[*].status", contains(201, 400, 201)))
+                .andExpect(jsonPath("$.results[0].id", notNullValue()))
+                .andExpect(jsonPath("$.results[1].error").value("title is required"));
+
+        assertEquals(2, noteRepository.count());
+    }
+
+    @Test
+    void createBatch_shouldReturn400_whenBatchIsTooLarge() throws Exception {
+        BatchCreateNotesRequest req = new BatchCreateNotesRequest(
+                Collections.nCopies(501, new CreateNoteRequest("Note", null)));
+
+        mockMvc.perform(post("/notes/batch")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateBatch_shouldUpdateOwnNotes_andReport403And404() throws Exception {
+        Note mine = noteRepository.save(new Note("Mine", "old", testUser));
+        Note theirs = noteRepository.save(new Note("Theirs", "old", otherUser));
+
+        BatchUpdateNotesRequest req = new BatchUpdateNotesRequest(List.of(
+                new BatchUpdateNoteItem(mine.getId(), "Mine updated", null, true),
+                new BatchUpdateNoteItem(theirs.getId(), "Hijacked", null, null),
+                new BatchUpdateNoteItem(999999L, "Missing", null, null)));
+
+        mockMvc.perform(patch("/notes/batch")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[*].status", contains(200, 403, 404)));
+
+        Note reloaded = noteRepository.findById(mine.getId()).orElseThrow();
+        assertEquals("Mine updated", reloaded.getTitle());
+        assertEquals("old", reloaded.getContent());
+        assertTrue(reloaded.isArchived());
+        assertEquals("Theirs", noteRepository.findById(theirs.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void deleteBatch_shouldDeleteOwnNotesOnly() throws Exception {
+        Note mine = noteRepository.save(new Note("Mine", "x", testUser));
+        Note theirs = noteRepository.save(new Note("Theirs", "y", otherUser));
+
+        BatchDeleteNotesRequest req = new BatchDeleteNotesRequest(Arrays.asList(mine.getId(), theirs.getId(), 999999L));
+
+        mockMvc.perform(delete("/notes/batch")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[*].status", contains(204, 403, 404)));
+
+        assertFalse(noteRepository.existsById(mine.getId()));
+        assertTrue(noteRepository.existsById(theirs.getId()));
+    }
+
+    @Test
+    void ids_shouldBeWrittenAsStrings_andAcceptedBackAsStrings() throws Exception {
+        String created = mockMvc.perform(post("/notes")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateNoteRequest("Big id", "x"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", isA(String.class)))
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(created).get("id").asText();
+        // Fuera del rango exacto de un número de JavaScript
+        assertTrue(Long.parseLong(id) > (1L << 53));
+
+        mockMvc.perform(delete("/notes/batch")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [\"" + id + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].id").value(id))
+                .andExpect(jsonPath("$.results[0].status").value(204));
+
+        assertFalse(noteRepository.existsById(Long.parseLong(id)));
+    }
+}
@@ -0,0 +1,180 @@
+package dev.layla.notesapi.note;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.layla.notesapi.auth.JwtService;
+import dev.layla.notesapi.auth.PrincipalCache;
+import dev.layla.notesapi.note.dto.UpdateNoteRequest;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Caché de segundo nivel: las lecturas por PK y por email llenan la caché y
+ * las escrituras de la API la mantienen coherente.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class NoteCacheIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    NoteRepository noteRepository;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    PrincipalCache principalCache;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    NoteExportService noteExportService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Cache cache;
+    private User testUser;
+    private String jwtToken;
+
+    @BeforeEach
+    void setup() {
+        noteRepository.deleteAll();
+        userRepository.deleteAll();
+        principalCache.invalidateAll();
+
+        cache = entityManagerFactory.getCache();
+        cache.evictAll();
+
+        testUser = userRepository.save(new User("Layla", "layla@example.com", "password123"));
+        jwtToken = jwtService.generateToken(testUser);
+    }
+
+    @Test
+    void getNote_shouldBeServedFromCache_andReflectUpdates() throws Exception {
+        Note note = noteRepository.save(new Note("Cached", "Before", testUser));
+        cache.evict(Note.class);
+
+        mockMvc.perform(get("/notes/{id}", note.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+        assertTrue(cache.contains(Note.class, note.getId()));
+
+        mockMvc.perform(put("/notes/{id}", note.getId())
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateNoteRequest(null, "After", null))))
+                .andExpect(status().isOk());
+
+        // La actualización no invalida la región: la entrada sigue y ya tiene el nuevo contenido
+        assertTrue(cache.contains(Note.class, note.getId()));
+        mockMvc.perform(get("/notes/{id}", note.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("After"))
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(header().string("ETag", "\"1\""));
+    }
+
+    @Test
+    void deleteNote_shouldKeepOtherNotesCached() throws Exception {
+        Note deleted = noteRepository.save(new Note("Deleted", "x", testUser));
+        Note kept = noteRepository.save(new Note("Kept", "y", testUser));
+        noteRepository.findById(deleted.getId());
+        noteRepository.findById(kept.getId());
+        assertTrue(cache.contains(Note.class, kept.getId()));
+
+        mockMvc.perform(delete("/notes/{id}", deleted.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNoContent());
+
+        // READ_WRITE deja un soft lock en lugar de la entrada borrada: no se puede leer de la caché
+        assertTrue(noteRepository.findById(deleted.getId()).isEmpty());
+        assertTrue(cache.contains(Note.class, kept.getId()));
+        mockMvc.perform(get("/notes/{id}", deleted.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void batchDelete_shouldKeepOtherNotesCached() throws Exception {
+        Note deleted = noteRepository.save(new Note("Deleted", "x", testUser));
+        Note kept = noteRepository.save(new Note("Kept", "y", testUser));
+        noteRepository.findById(kept.getId());
+        assertTrue(cache.contains(Note.class, kept.getId()));
+
+        mockMvc.perform(delete("/notes/batch")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + deleted.getId() + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(204));
+
+        assertTrue(noteRepository.findById(deleted.getId()).isEmpty());
+        assertTrue(cache.contains(Note.class, kept.getId()));
+    }
+
+    @Test
+    void exportAndImport_shouldNotFillTheNotesRegion() throws Exception {
+        Note exported = noteRepository.save(new Note("Exported", "x", testUser));
+        cache.evict(Note.class);
+
+        noteExportService.exportForUser(testUser.getId(), new ByteArrayOutputStream());
+        assertFalse(cache.contains(Note.class, exported.getId()));
+
+        mockMvc.perform(post("/notes/import")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\":\"Imported\",\"content\":\"y\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        // Por JDBC: leer la entidad la metería en la caché
+        Long importedId = jdbcTemplate.queryForObject("SELECT id FROM notes WHERE title = 'Imported'", Long.class);
+        assertFalse(cache.contains(Note.class, importedId));
+    }
+
+    @Test
+    void getNote_shouldReturn403_forCachedNoteOfAnotherUser() throws Exception {
+        User other = userRepository.save(new User("Other", "other@example.com", "password123"));
+        Note note = noteRepository.save(new Note("Private", "z", other));
+        noteRepository.findById(note.getId());
+
+        mockMvc.perform(get("/notes/{id}", note.getId())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void findByEmail_shouldCacheUser_andFollowEmailChanges() {
+        cache.evict(User.class);
+
+        assertTrue(userRepository.findByEmail("layla@example.com").isPresent());
+        assertTrue(cache.contains(User.class, testUser.getId()));
+
+        User user = userRepository.findById(testUser.getId()).orElseThrow();
+        user.setEmail("layla@new.example.com");
+        userRepository.save(user);
+
+        assertTrue(userRepository.findByEmail("layla@example.com").isEmpty());
+        assertEquals(testUser.getId(), userRepository.findByEmail("layla@new.example.com").orElseThrow().getId());
+    }
+}
@@ -2,6 +2,7 @@ package dev.layla.notesapi.note;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.layla.notesapi.auth.JwtService;
+import dev.layla.notesapi.auth.PrincipalCache;
 import dev.layla.notesapi.note.dto.CreateNoteRequest;
 import dev.layla.notesapi.note.dto.UpdateNoteRequest;
 import dev.layla.notesapi.user.User;
@@ -16,6 +17,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,6 +37,8 @@ class NoteControllerIntegrationTest {
     NoteRepository noteRepository;
     @Autowired
     JwtService jwtService;
+    @Autowired
+    PrincipalCache principalCache;
 
     private User testUser;
     private String jwtToken;
@@ -42,6 +47,8 @@ class NoteControllerIntegrationTest {
     void setup() {
         noteRepository.deleteAll();
         userRepository.deleteAll();
+        // Los usuarios se borran directamente en el repositorio, sin pasar por UserService
+        principalCache.invalidateAll();
 
         testUser = new User("Layla", "layla@example.com", "password123");
         testUser = userRepository.save(testUser);
@@ -95,7 +102,7 @@ class NoteControllerIntegrationTest {
         mockMvc.perform(get("/notes/{id}", saved.getId())
                 .header("Authorization", "Bearer " + jwtToken))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(saved.getId()))
+                .andExpect(jsonPath("$.id").value(saved.getId().toString()))
                 .andExpect(jsonPath("$.title").value("Saved note"));
     }
 
@@ -133,13 +140,43 @@ class NoteControllerIntegrationTest {
                 .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.id").value(saved.getId()))
+                .andExpect(jsonPath("$.id").value(saved.getId().toString()))
                 .andExpect(jsonPath("$.title").value("New title"))
                 .andExpect(jsonPath("$.content").value("New content"))
                 .andExpect(jsonPath("$.archived").value(true))
                 .andExpect(jsonPath("$.createdAt", notNullValue()));
     }
 
+    @Test
+    void putNote_shouldKeepFieldsNotSent() throws Exception {
+        Note saved = noteRepository.save(new Note("Old title", "Old content", testUser));
+
+        UpdateNoteRequest req = new UpdateNoteRequest(" ", null, true);
+
+        mockMvc.perform(put("/notes/{id}", saved.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Old title"))
+                .andExpect(jsonPath("$.content").value("Old content"))
+                .andExpect(jsonPath("$.archived").value(true));
+    }
+
+    @Test
+    void putNote_shouldReturn403_whenNoteOwnedByOtherUser() throws Exception {
+        User otherUser = userRepository.save(new User("Other", "other@example.com", "password"));
+        Note otherNote = noteRepository.save(new Note("Other's note", "Not yours", otherUser));
+
+        mockMvc.perform(put("/notes/{id}", otherNote.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateNoteRequest("Mine now", null, null))))
+                .andExpect(status().isForbidden());
+
+        assertEquals("Other's note", noteRepository.findById(otherNote.getId()).orElseThrow().getTitle());
+    }
+
     @Test
     void putNote_shouldReturn404_whenNotExists() throws Exception {
         UpdateNoteRequest req = new UpdateNoteRequest("Doesn't matter", null, null);
@@ -167,6 +204,18 @@ class NoteControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void deleteNote_shouldReturn403_andKeepNote_whenOwnedByOtherUser() throws Exception {
+        User otherUser = userRepository.save(new User("Other", "other@example.com", "password"));
+        Note otherNote = noteRepository.save(new Note("Other's note", "Not yours", otherUser));
+
+        mockMvc.perform(delete("/notes/{id}", otherNote.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isForbidden());
+
+        assertTrue(noteRepository.existsById(otherNote.getId()));
+    }
+
     @Test
     void deleteNote_shouldReturn404_whenNotExists() throws Exception {
         mockMvc.perform(delete("/notes/{id}", 999999L)
@@ -176,4 +225,231 @@ class NoteControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", containsString("was not found")))
                 .andExpect(jsonPath("$.timestamp", notNullValue()));
     }
+
+    @Test
+    void searchNotes_shouldFindNotesCreatedThroughApi() throws Exception {
+        for (CreateNoteRequest req : new CreateNoteRequest[] {
+                new CreateNoteRequest("Spring Boot tips", "Use constructor injection"),
+                new CreateNoteRequest("Groceries", "Milk and eggs")}) {
+            mockMvc.perform(post("/notes")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(req)))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/notes/search")
+                .param("query", "spring")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Spring Boot tips"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void getNotesByCursor_shouldWalkForwardAndBack() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            noteRepository.save(new Note("Note " + i, "Content " + i, testUser));
+        }
+
+        String first = mockMvc.perform(get("/notes")
+                .param("cursor", "")
+                .param("size", "2")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", contains("Note 5", "Note 4")))
+                .andExpect(jsonPath("$.prev").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        String second = mockMvc.perform(get("/notes")
+                .param("cursor", objectMapper.readTree(first).get("next").asText())
+                .param("size", "2")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", contains("Note 3", "Note 2")))
+                .andReturn().getResponse().getContentAsString();
+
+        String last = mockMvc.perform(get("/notes")
+                .param("cursor", objectMapper.readTree(second).get("next").asText())
+                .param("size", "2")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", contains("Note 1")))
+                .andExpect(jsonPath("$.next").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/notes")
+                .param("cursor", objectMapper.readTree(last).get("prev").asText())
+                .param("size", "2")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", contains("Note 3", "Note 2")))
+                .andExpect(jsonPath("$.prev", notNullValue()))
+                .andExpect(jsonPath("$.next", notNullValue()));
+    }
+
+    @Test
+    void searchNotesByCursor_shouldPageMatchesOnly() throws Exception {
+        noteRepository.save(new Note("Spring one", "a", testUser));
+        noteRepository.save(new Note("Groceries", "b", testUser));
+        noteRepository.save(new Note("Spring two", "c", testUser));
+
+        mockMvc.perform(get("/notes/search")
+                .param("query", "spring")
+                .param("cursor", "")
+                .param("size", "1")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", contains("Spring two")))
+                .andExpect(jsonPath("$.next", notNullValue()));
+    }
+
+    @Test
+    void getNotesByCursor_shouldReturn400_whenCursorIsInvalid() throws Exception {
+        mockMvc.perform(get("/notes")
+                .param("cursor", "not-a-cursor")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Invalid pagination cursor")));
+    }
+
+    @Test
+    void getNotes_withCountFalse_shouldReturnSliceWithoutTotals() throws Exception {
+        // Por la API, para que las notas también lleguen al índice de búsqueda
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/notes")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new CreateNoteRequest("Note " + i, "Content " + i))))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/notes")
+                .param("count", "false")
+                .param("size", "2")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mockMvc.perform(get("/notes/search")
+                .param("query", "note")
+                .param("count", "false")
+                .param("size", "2")
+                .param("page", "1")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.last").value(true))
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+    }
+
+    @Test
+    void getNotes_shouldReturnBoundedExcerptInsteadOfContent() throws Exception {
+        String longContent = "x".repeat(500);
+        noteRepository.save(new Note("Long note", longContent, testUser));
+
+        mockMvc.perform(get("/notes")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Long note"))
+                .andExpect(jsonPath("$.content[0].excerpt").value("x".repeat(200) + "…"))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist());
+    }
+
+    @Test
+    void getNoteById_shouldReturn304_whenETagMatches() throws Exception {
+        Note saved = noteRepository.save(new Note("Cached note", "Content", testUser));
+
+        String etag = mockMvc.perform(get("/notes/{id}", saved.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.version").value(0))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/notes/{id}", saved.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void putNote_shouldBumpVersion_andInvalidateETag() throws Exception {
+        Note saved = noteRepository.save(new Note("Old title", "Old content", testUser));
+
+        mockMvc.perform(put("/notes/{id}", saved.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateNoteRequest("New title", null, null))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.updatedAt", notNullValue()));
+
+        mockMvc.perform(get("/notes/{id}", saved.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                // El ETag y el cuerpo salen de la misma lectura
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.title").value("New title"));
+    }
+
+    @Test
+    void putNote_shouldReturn412_andKeepNote_whenIfMatchIsStale() throws Exception {
+        Note saved = noteRepository.save(new Note("Old title", "Old content", testUser));
+        UpdateNoteRequest req = new UpdateNoteRequest("New title", null, null);
+
+        mockMvc.perform(put("/notes/{id}", saved.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/notes/{id}", saved.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateNoteRequest("Lost update", null, null))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+
+        assertEquals("New title", noteRepository.findById(saved.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void getNotes_shouldReturn304_untilPageChanges() throws Exception {
+        Note saved = noteRepository.save(new Note("Listed note", "Content", testUser));
+
+        String etag = mockMvc.perform(get("/notes")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/notes")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/notes/{id}", saved.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateNoteRequest(null, null, true))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/notes")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].version").value(1));
+    }
 }
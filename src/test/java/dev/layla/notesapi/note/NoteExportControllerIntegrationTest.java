@@ -0,0 +1,83 @@
+package dev.layla.notesapi.note;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.layla.notesapi.auth.JwtService;
+import dev.layla.notesapi.auth.PrincipalCache;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class NoteExportControllerIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    NoteRepository noteRepository;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    PrincipalCache principalCache;
+
+    private User testUser;
+    private String jwtToken;
+
+    @BeforeEach
+    void setup() {
+        noteRepository.deleteAll();
+        userRepository.deleteAll();
+        principalCache.invalidateAll();
+
+        testUser = userRepository.save(new User("Layla", "layla@example.com", "password123"));
+        jwtToken = jwtService.generateToken(testUser);
+    }
+
+    @Test
+    void export_shouldStreamOwnNotesAsNdjson() throws Exception {
+        User otherUser = userRepository.save(new User("Other", "other@example.com", "password"));
+        noteRepository.save(new Note("First", "one", testUser));
+        noteRepository.save(new Note("Other's", "not mine", otherUser));
+        noteRepository.save(new Note("Second", "two", testUser));
+
+        MvcResult started = mockMvc.perform(get("/notes/export")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("First", first.get("title").asText());
+        assertEquals("one", first.get("content").asText());
+        assertEquals("Second", objectMapper.readTree(lines[1]).get("title").asText());
+    }
+
+    @Test
+    void export_shouldBeRejected_whenNoToken() throws Exception {
+        mockMvc.perform(get("/notes/export"))
+                .andExpect(status().isForbidden());
+    }
+}
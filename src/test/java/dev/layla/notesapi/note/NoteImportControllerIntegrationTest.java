@@ -0,0 +1,93 @@
+package dev.layla.notesapi.note;
+
+import dev.layla.notesapi.auth.JwtService;
+import dev.layla.notesapi.auth.PrincipalCache;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "notes.import.chunk-size=2")
+@AutoConfigureMockMvc
+class NoteImportControllerIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    NoteRepository noteRepository;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    PrincipalCache principalCache;
+
+    private User testUser;
+    private String jwtToken;
+
+    @BeforeEach
+    void setup() {
+        noteRepository.deleteAll();
+        userRepository.deleteAll();
+        principalCache.invalidateAll();
+
+        testUser = userRepository.save(new User("Layla", "layla@example.com", "password123"));
+        jwtToken = jwtService.generateToken(testUser);
+    }
+
+    @Test
+    void import_shouldSaveValidRecordsInChunks_andReportInvalidOnes() throws Exception {
+        String ndjson = """
+                {"title": "One", "content": "1"}
+                {"title": "", "content": "missing title"}
+                {"title": "Three"}
+                {"title": {"not": "a string"}}
+                {"title": "Five", "content": "5", "id": 42, "archived": true}
+                """;
+
+        mockMvc.perform(post("/notes/import")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(5))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.errors[*].record", contains(2, 4)))
+                .andExpect(jsonPath("$.errors[0].error").value("title is required"));
+
+        assertEquals(3, noteRepository.count());
+    }
+
+    @Test
+    void import_shouldStopAtMalformedJson_andKeepEarlierRecords() throws Exception {
+        String ndjson = """
+                {"title": "One"}
+                {"title": "Two"
+                {"title": "Three"}
+                """;
+
+        mockMvc.perform(post("/notes/import")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.completed").value(false))
+                .andExpect(jsonPath("$.errors[0].error", startsWith("Malformed JSON")));
+
+        assertEquals(1, noteRepository.count());
+    }
+}
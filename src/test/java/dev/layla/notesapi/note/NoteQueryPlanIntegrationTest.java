@@ -0,0 +1,151 @@
+package dev.layla.notesapi.note;
+
+import dev.layla.notesapi.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba contra PostgreSQL (perfil prod, esquema de las migraciones) que
+ * ninguna query por usuario o por id de los repositorios recorre entera la
+ * tabla notes o users.
+ *
+ * Necesita una base vacía de usar y tirar (sus datos se borran):
+ * {@code NOTES_TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/notes_plan_test}
+ * y, si no son notes/notes, NOTES_TEST_POSTGRES_USER / NOTES_TEST_POSTGRES_PASSWORD.
+ * Sin la variable el test se omite.
+ *
+ * Se ejecutan las queries reales de Hibernate con parámetros reales y se mira
+ * el contador seq_scan de pg_stat_user_tables antes y después. El pool tiene
+ * una sola conexión, así que las queries y la lectura de estadísticas van por
+ * el mismo backend y pg_stat_force_next_flush() (PostgreSQL 15 o superior)
+ * publica sus contadores.
+ * Los listados sin filtro (todas las notas, todos los usuarios) no se comprueban:
+ * con LIMIT y sin orden un Seq Scan se detiene tras las primeras filas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${NOTES_TEST_POSTGRES_URL}",
+        "spring.datasource.username=${NOTES_TEST_POSTGRES_USER:notes}",
+        "spring.datasource.password=${NOTES_TEST_POSTGRES_PASSWORD:notes}",
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.minimum-idle=1",
+        "notes.search.index.rebuild-on-startup=false",
+        "notes.id.node=1"
+})
+@ActiveProfiles("prod")
+@EnabledIfEnvironmentVariable(named = "NOTES_TEST_POSTGRES_URL", matches = ".+")
+class NoteQueryPlanIntegrationTest {
+
+    private static final int USERS = 5_000;
+    private static final int NOTES_PER_USER = 10;
+    private static final int EXCERPT = 80;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+    private static final Pageable LIMIT = PageRequest.ofSize(10);
+
+    @Autowired
+    NoteRepository noteRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbc;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private long ownerId;
+    private String ownerEmail;
+    private List<Long> noteIds;
+
+    @BeforeEach
+    void seed() {
+        jdbc.execute("TRUNCATE notes, users");
+        jdbc.update("INSERT INTO users (id, name, email, password, role, created_at, token_epoch) " +
+                    "SELECT g, 'User ' || g, 'user' || g || '@example.com', 'x', 'USER', now(), 0 " +
+                    "FROM generate_series(1, ?) g", USERS);
+        jdbc.update("INSERT INTO notes (id, title, content, created_at, updated_at, archived, version, user_id) " +
+                    "SELECT u.id * 100 + n, 'Note ' || n, repeat('lorem ipsum dolor ', 20), " +
+                    "now() - n * interval '1 minute', now(), n % 4 = 0, 0, u.id " +
+                    "FROM users u, generate_series(1, ?) n", NOTES_PER_USER);
+        jdbc.execute("ANALYZE users");
+        jdbc.execute("ANALYZE notes");
+        entityManagerFactory.getCache().evictAll();
+
+        ownerId = jdbc.queryForObject("SELECT id FROM users ORDER BY id OFFSET ? LIMIT 1", Long.class, USERS / 2);
+        ownerEmail = jdbc.queryForObject("SELECT email FROM users WHERE id = ?", String.class, ownerId);
+        noteIds = jdbc.queryForList("SELECT id FROM notes WHERE user_id = ? LIMIT 3", Long.class, ownerId);
+    }
+
+    @Test
+    void repositoryQueries_shouldNotScanWholeTables() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        queries.put("findSummariesByOwner", () -> noteRepository.findSummariesByOwner(ownerId, EXCERPT, FIRST_PAGE));
+        queries.put("findSummariesByOwnerAndArchived", () -> noteRepository.findSummariesByOwnerAndArchived(ownerId, true, EXCERPT, FIRST_PAGE));
+        queries.put("findSummarySliceByOwner", () -> noteRepository.findSummarySliceByOwner(ownerId, EXCERPT, FIRST_PAGE));
+        queries.put("findSummarySliceByOwnerAndArchived", () -> noteRepository.findSummarySliceByOwnerAndArchived(ownerId, false, EXCERPT, FIRST_PAGE));
+        queries.put("findKeysetFirst", () -> noteRepository.findKeysetFirst(ownerId, EXCERPT, LIMIT));
+        queries.put("findKeysetFirstByArchived", () -> noteRepository.findKeysetFirstByArchived(ownerId, true, EXCERPT, LIMIT));
+        queries.put("findKeysetBefore", () -> noteRepository.findKeysetBefore(ownerId, now, Long.MAX_VALUE, EXCERPT, LIMIT));
+        queries.put("findKeysetBeforeByArchived", () -> noteRepository.findKeysetBeforeByArchived(ownerId, false, now, Long.MAX_VALUE, EXCERPT, LIMIT));
+        queries.put("findKeysetAfter", () -> noteRepository.findKeysetAfter(ownerId, now.minusDays(1), 0L, EXCERPT, LIMIT));
+        queries.put("findKeysetAfterByArchived", () -> noteRepository.findKeysetAfterByArchived(ownerId, false, now.minusDays(1), 0L, EXCERPT, LIMIT));
+        queries.put("searchSummariesByUser", () -> noteRepository.searchSummariesByUser(ownerId, "lorem", EXCERPT, FIRST_PAGE));
+        queries.put("searchSummarySliceByUser", () -> noteRepository.searchSummarySliceByUser(ownerId, "lorem", EXCERPT, FIRST_PAGE));
+        queries.put("searchKeysetFirst", () -> noteRepository.searchKeysetFirst(ownerId, "lorem", EXCERPT, LIMIT));
+        queries.put("searchKeysetBefore", () -> noteRepository.searchKeysetBefore(ownerId, "lorem", now, Long.MAX_VALUE, EXCERPT, LIMIT));
+        queries.put("fullTextSearchByUser", () -> noteRepository.fullTextSearchByUser(ownerId, "lorem", 10, 0));
+        queries.put("countFullTextSearchByUser", () -> noteRepository.countFullTextSearchByUser(ownerId, "lorem", 1000));
+        queries.put("streamAllByOwnerId", () -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Note> notes = noteRepository.streamAllByOwnerId(ownerId)) {
+                notes.forEach(note -> { });
+            }
+        }));
+        queries.put("findByIdAndOwnerId", () -> noteRepository.findByIdAndOwnerId(noteIds.get(0), ownerId));
+        queries.put("findAllByIdInAndOwnerId", () -> noteRepository.findAllByIdInAndOwnerId(noteIds, ownerId));
+        queries.put("findExistingIds", () -> noteRepository.findExistingIds(noteIds));
+        queries.put("findSummariesByIdIn", () -> noteRepository.findSummariesByIdIn(noteIds, EXCERPT));
+        queries.put("findIndexRowsAfter", () -> noteRepository.findIndexRowsAfter(0L, PageRequest.ofSize(500)));
+        queries.put("findByEmail", () -> userRepository.findByEmail(ownerEmail));
+        queries.put("findTokenEpochById", () -> userRepository.findTokenEpochById(ownerId));
+
+        List<String> scans = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            long notesBefore = seqScans("notes");
+            long usersBefore = seqScans("users");
+            query.run();
+            if (seqScans("notes") > notesBefore) {
+                scans.add(name + " (notes)");
+            }
+            if (seqScans("users") > usersBefore) {
+                scans.add(name + " (users)");
+            }
+        });
+
+        assertEquals(List.of(), scans, "Queries planned with a sequential scan");
+    }
+
+    private long seqScans(String table) {
+        jdbc.execute("SELECT pg_stat_force_next_flush()");
+        return jdbc.queryForObject("SELECT seq_scan FROM pg_stat_user_tables WHERE relname = ?", Long.class, table);
+    }
+}
@@ -1,13 +1,28 @@
 package dev.layla.notesapi.note;
 
 import dev.layla.notesapi.note.dto.CreateNoteRequest;
+import dev.layla.notesapi.note.dto.NoteSummaryResponse;
 import dev.layla.notesapi.note.mapper.NoteMapper;
+import dev.layla.notesapi.note.search.NoteIndexer;
+import dev.layla.notesapi.note.search.NoteSearchIndex;
+import dev.layla.notesapi.note.search.NoteTrigramIndex;
+import dev.layla.notesapi.note.search.SearchBackend;
 import dev.layla.notesapi.user.User;
 import dev.layla.notesapi.user.UserRepository;
 import dev.layla.notesapi.user.exception.UserNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,6 +33,7 @@ class NoteServiceTest {
     private NoteRepository noteRepository;
     private UserRepository userRepository;
     private NoteMapper noteMapper;
+    private SimpleMeterRegistry meterRegistry;
 
     private NoteService noteService;
 
@@ -26,7 +42,10 @@ class NoteServiceTest {
         noteRepository = mock(NoteRepository.class);
         userRepository = mock(UserRepository.class);
         noteMapper = new NoteMapper();
-        noteService = new NoteService(noteRepository, noteMapper, userRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        noteService = new NoteService(noteRepository, noteMapper, userRepository,
+                new NoteIndexer(noteRepository, List.of()), new NoteSearchIndex(SearchBackend.LIKE),
+                new NoteTrigramIndex(SearchBackend.LIKE), SearchBackend.LIKE, new NoteMetrics(meterRegistry), mock(EntityManagerFactory.class));
     }
 
     @Test
@@ -69,4 +88,102 @@ class NoteServiceTest {
         verify(userRepository).findById(userId);
         verify(noteRepository, never()).save(any());
     }
+
+    @Test
+    void createForUser_shouldRecordTimerAndContentSize() {
+        User owner = new User("Layla", "layla@example.com", "password123");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(noteRepository.save(any(Note.class))).thenReturn(new Note("Test note", "Hello", owner));
+
+        noteService.createForUser(1L, new CreateNoteRequest("Test note", "Hello"));
+
+        assertEquals(1, meterRegistry.get("notes.operation")
+                .tags("operation", "create", "outcome", "success").timer().count());
+        assertEquals(5.0, meterRegistry.get("notes.content.size")
+                .tag("operation", "create").summary().totalAmount());
+    }
+
+    @Test
+    void createForUser_shouldRecordNotFoundOutcome_whenUserDoesNotExist() {
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class,
+                () -> noteService.createForUser(999L, new CreateNoteRequest("Test note", "Hello")));
+
+        assertEquals(1, meterRegistry.get("notes.operation")
+                .tags("operation", "create", "outcome", "not_found").timer().count());
+        assertNull(meterRegistry.find("notes.content.size").summary());
+    }
+
+    @Test
+    void search_withIndex_shouldPaginateIdsInMemory_andLoadOnlyThePage() {
+        NoteSearchIndex index = new NoteSearchIndex(SearchBackend.INDEX);
+        NoteIndexer indexer = new NoteIndexer(noteRepository, List.of(index));
+        when(noteRepository.findIndexRowsAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        indexer.rebuild();
+        for (long id = 1; id <= 25; id++) {
+            index.put(1L, id, "Spring note " + id, "");
+        }
+        NoteService service = new NoteService(noteRepository, noteMapper, userRepository, indexer, index,
+                new NoteTrigramIndex(SearchBackend.INDEX), SearchBackend.INDEX, new NoteMetrics(meterRegistry), mock(EntityManagerFactory.class));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(new User("Layla", "layla@example.com", "password123")));
+        when(noteRepository.findSummariesByIdIn(anyCollection(), anyInt())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .map(id -> new NoteSummary(id, "Spring note " + id, "", LocalDateTime.now(), false, 0))
+                    .toList();
+        });
+
+        Page<NoteSummaryResponse> page = service.search("spring", 1L, PageRequest.of(1, 10));
+        Slice<NoteSummaryResponse> last = service.searchSlice("spring", 1L, PageRequest.of(2, 10));
+
+        assertEquals(25, page.getTotalElements());
+        assertEquals(List.of(15L, 14L, 13L, 12L, 11L, 10L, 9L, 8L, 7L, 6L),
+                page.getContent().stream().map(NoteSummaryResponse::id).toList());
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), last.getContent().stream().map(NoteSummaryResponse::id).toList());
+        assertFalse(last.hasNext());
+        verify(noteRepository).findSummariesByIdIn(eq(List.of(15L, 14L, 13L, 12L, 11L, 10L, 9L, 8L, 7L, 6L)), anyInt());
+    }
+
+    @Test
+    void search_withTrigrams_shouldRecheckCandidatesInBoundedBatches() {
+        NoteTrigramIndex index = new NoteTrigramIndex(SearchBackend.TRIGRAM_MEMORY);
+        NoteIndexer indexer = new NoteIndexer(noteRepository, List.of(index));
+        when(noteRepository.findIndexRowsAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        indexer.rebuild();
+        for (long id = 1; id <= 5; id++) {
+            index.put(1L, id, "Spring note " + id, "");
+        }
+        NoteService service = new NoteService(noteRepository, noteMapper, userRepository, indexer,
+                new NoteSearchIndex(SearchBackend.TRIGRAM_MEMORY), index, SearchBackend.TRIGRAM_MEMORY,
+                new NoteMetrics(meterRegistry), mock(EntityManagerFactory.class));
+        ReflectionTestUtils.setField(service, "trigramRecheckBatchSize", 2);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(new User("Layla", "layla@example.com", "password123")));
+        // Solo las notas impares contienen la query como subcadena
+        when(noteRepository.findMatchingIds(anyCollection(), eq("spring"))).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            assertTrue(ids.size() <= 2);
+            return ids.stream().filter(id -> id % 2 == 1).toList();
+        });
+        when(noteRepository.findSummariesByIdIn(anyCollection(), anyInt())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .map(id -> new NoteSummary(id, "Spring note " + id, "", LocalDateTime.now(), false, 0))
+                    .toList();
+        });
+
+        Page<NoteSummaryResponse> page = service.search("spring", 1L, PageRequest.of(0, 2));
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(5L, 3L), page.getContent().stream().map(NoteSummaryResponse::id).toList());
+        verify(noteRepository, times(3)).findMatchingIds(anyCollection(), eq("spring"));
+
+        clearInvocations(noteRepository);
+        Slice<NoteSummaryResponse> slice = service.searchSlice("spring", 1L, PageRequest.of(0, 1));
+        assertEquals(List.of(5L), slice.getContent().stream().map(NoteSummaryResponse::id).toList());
+        assertTrue(slice.hasNext());
+        // Con 5 y 3 ya se sabe que hay página siguiente: el último lote no se consulta
+        verify(noteRepository, times(2)).findMatchingIds(anyCollection(), eq("spring"));
+    }
 }
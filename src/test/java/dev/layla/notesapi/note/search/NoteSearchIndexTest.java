@@ -0,0 +1,115 @@
+package dev.layla.notesapi.note.search;
+
+import dev.layla.notesapi.note.Note;
+import dev.layla.notesapi.note.NoteRepository;
+import dev.layla.notesapi.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class NoteSearchIndexTest {
+
+    private NoteRepository noteRepository;
+    private NoteSearchIndex index;
+    private NoteIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        noteRepository = mock(NoteRepository.class);
+        index = new NoteSearchIndex(SearchBackend.INDEX);
+        indexer = new NoteIndexer(noteRepository, List.of(index));
+        ReflectionTestUtils.setField(indexer, "rebuildBatchSize", 2);
+
+        when(noteRepository.findIndexRowsAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        when(noteRepository.findIndexRowsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new NoteIndexRow(1L, 10L, "Spring Boot tips", "Use constructor injection"),
+                new NoteIndexRow(2L, 10L, "Groceries", "Milk, eggs and bread")));
+        when(noteRepository.findIndexRowsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(
+                new NoteIndexRow(3L, 20L, "Spring cleaning", "Garage")));
+    }
+
+    @Test
+    void rebuild_shouldIndexEveryBatch_andBecomeReady() {
+        assertFalse(indexer.isReady());
+
+        indexer.rebuild();
+
+        assertTrue(indexer.isReady());
+        assertEquals(List.of(1L), index.search(10L, "spring"));
+        assertEquals(List.of(3L), index.search(20L, "spring"));
+    }
+
+    @Test
+    void rebuild_shouldReplayUpdatesCommittedMeanwhile_overStaleRows() {
+        User owner = new User("Layla", "layla@example.com", "password123");
+        ReflectionTestUtils.setField(owner, "id", 10L);
+        Note updated = new Note("Kotlin tips", "Use data classes", owner);
+        ReflectionTestUtils.setField(updated, "id", 1L);
+
+        // El update de la nota 1 se confirma mientras el lote con su versión anterior se está leyendo
+        when(noteRepository.findIndexRowsAfter(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            indexer.index(updated);
+            return List.of(
+                    new NoteIndexRow(1L, 10L, "Spring Boot tips", "Use constructor injection"),
+                    new NoteIndexRow(2L, 10L, "Groceries", "Milk, eggs and bread"));
+        });
+
+        indexer.rebuild();
+
+        assertTrue(indexer.isReady());
+        assertEquals(List.of(), index.search(10L, "spring"));
+        assertEquals(List.of(1L), index.search(10L, "kotlin"));
+    }
+
+    @Test
+    void search_shouldMatchPrefixes_caseInsensitive() {
+        indexer.rebuild();
+
+        assertEquals(List.of(1L), index.search(10L, "SPRI"));
+        assertEquals(List.of(2L), index.search(10L, "egg"));
+    }
+
+    @Test
+    void search_shouldRequireEveryQueryToken() {
+        indexer.rebuild();
+
+        assertEquals(List.of(1L), index.search(10L, "spring injection"));
+        assertEquals(List.of(), index.search(10L, "spring milk"));
+    }
+
+    @Test
+    void search_shouldReturnNewestIdsFirst() {
+        index.put(10L, 5L, "Spring data", "");
+        index.put(10L, 12L, "Spring security", "");
+        index.put(10L, 7L, "Spring web", "");
+
+        assertEquals(List.of(12L, 7L, 5L), index.search(10L, "spring"));
+    }
+
+    @Test
+    void remove_andRemoveOwner_shouldDropPostings() {
+        indexer.rebuild();
+
+        indexer.remove(10L, 1L);
+        assertEquals(List.of(), index.search(10L, "spring"));
+        assertEquals(List.of(2L), index.search(10L, "bread"));
+
+        indexer.removeOwner(20L);
+        assertEquals(List.of(), index.search(20L, "garage"));
+    }
+
+    @Test
+    void isSearchable_shouldRejectQueriesWithoutTokens() {
+        assertTrue(NoteSearchIndex.isSearchable("hello"));
+        assertFalse(NoteSearchIndex.isSearchable(""));
+        assertFalse(NoteSearchIndex.isSearchable("%%  --"));
+    }
+}
@@ -0,0 +1,76 @@
+package dev.layla.notesapi.note.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoteTrigramIndexTest {
+
+    private static final Map<Long, String[]> NOTES = Map.of(
+            1L, new String[] {"Spring Boot tips", "Use constructor injection"},
+            2L, new String[] {"Groceries", "Milk, eggs and bread"},
+            3L, new String[] {"Ideas", "Rewrite the sprinkler controller"},
+            4L, new String[] {"Empty content", null});
+
+    private NoteTrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NoteTrigramIndex(SearchBackend.TRIGRAM_MEMORY);
+        NOTES.forEach((id, fields) -> index.put(10L, id, fields[0], fields[1]));
+    }
+
+    @Test
+    void candidates_shouldContainEverySubstringMatch() {
+        for (String query : new String[] {"spr", "SPRING", "ring", "troll", "ent", "k, e", "ty con", "xyz"}) {
+            List<Long> candidates = index.candidates(10L, query);
+            Set<Long> expected = substringMatches(query);
+            assertTrue(candidates.containsAll(expected), () -> "missing matches for '" + query + "'");
+        }
+    }
+
+    @Test
+    void candidates_shouldPruneNotesMissingAnyTrigram() {
+        assertEquals(List.of(3L, 1L), index.candidates(10L, "spr"));
+        assertEquals(List.of(2L), index.candidates(10L, "bread"));
+        assertEquals(List.of(), index.candidates(10L, "xyz"));
+        assertEquals(List.of(), index.candidates(99L, "spr"));
+    }
+
+    @Test
+    void put_shouldReplacePreviousTrigrams() {
+        index.put(10L, 2L, "Hardware store", "Screws");
+
+        assertEquals(List.of(), index.candidates(10L, "bread"));
+        assertEquals(List.of(2L), index.candidates(10L, "screw"));
+    }
+
+    @Test
+    void supports_shouldRejectShortQueriesAndLikeWildcards() {
+        assertTrue(NoteTrigramIndex.supports("abc"));
+        assertFalse(NoteTrigramIndex.supports("ab"));
+        assertFalse(NoteTrigramIndex.supports("50%"));
+        assertFalse(NoteTrigramIndex.supports("snake_case"));
+        assertFalse(NoteTrigramIndex.supports("C:\\temp"));
+    }
+
+    private static Set<Long> substringMatches(String query) {
+        String q = query.toLowerCase(Locale.ROOT);
+        Set<Long> ids = new HashSet<>();
+        NOTES.forEach((id, fields) -> {
+            for (String field : fields) {
+                if (field != null && field.toLowerCase(Locale.ROOT).contains(q)) {
+                    ids.add(id);
+                }
+            }
+        });
+        return ids;
+    }
+}
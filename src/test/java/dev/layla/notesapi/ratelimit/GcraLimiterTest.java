@@ -0,0 +1,92 @@
+package dev.layla.notesapi.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GcraLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_shouldAllowBurst_thenRejectWithWaitTime() {
+        GcraLimiter<String> limiter = new GcraLimiter<>(10, 3);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, limiter.tryAcquire("k", now));
+        assertEquals(0, limiter.tryAcquire("k", now));
+        assertEquals(0, limiter.tryAcquire("k", now));
+
+        // Un token nuevo cada 100 ms
+        assertEquals(SECOND / 10, limiter.tryAcquire("k", now));
+        assertEquals(0, limiter.tryAcquire("other", now));
+    }
+
+    @Test
+    void tryAcquire_shouldRefillAtConfiguredRate() {
+        GcraLimiter<String> limiter = new GcraLimiter<>(10, 2);
+        long now = 1_000 * SECOND;
+        limiter.tryAcquire("k", now);
+        limiter.tryAcquire("k", now);
+        assertTrue(limiter.tryAcquire("k", now) > 0);
+
+        assertEquals(0, limiter.tryAcquire("k", now + SECOND / 10));
+        assertTrue(limiter.tryAcquire("k", now + SECOND / 10) > 0);
+
+        // Tras un rato inactivo vuelve a tener la ráfaga completa, no más
+        long later = now + 10 * SECOND;
+        assertEquals(0, limiter.tryAcquire("k", later));
+        assertEquals(0, limiter.tryAcquire("k", later));
+        assertTrue(limiter.tryAcquire("k", later) > 0);
+    }
+
+    @Test
+    void sweep_shouldRemoveOnlyIdleKeys() {
+        GcraLimiter<String> limiter = new GcraLimiter<>(1, 5);
+        long now = 1_000 * SECOND;
+        limiter.tryAcquire("idle", now);
+        limiter.tryAcquire("busy", now);
+        limiter.tryAcquire("busy", now + SECOND);
+        limiter.tryAcquire("busy", now + SECOND);
+
+        assertEquals(1, limiter.sweep(now + SECOND + SECOND / 2));
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void tryAcquire_shouldNeverAllowMoreThanBurst_underContention() throws Exception {
+        GcraLimiter<Long> limiter = new GcraLimiter<>(0.001, 100);
+        long now = 1_000 * SECOND;
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire(7L, now) == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(100, allowed.get());
+    }
+}
@@ -0,0 +1,96 @@
+package dev.layla.notesapi.ratelimit;
+
+import dev.layla.notesapi.auth.JwtService;
+import dev.layla.notesapi.auth.PrincipalCache;
+import dev.layla.notesapi.note.NoteRepository;
+import dev.layla.notesapi.user.User;
+import dev.layla.notesapi.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "rate-limit.search.requests-per-second=0.01",
+        "rate-limit.search.burst=2",
+        "rate-limit.auth.requests-per-second=0.01",
+        "rate-limit.auth.burst=2"
+})
+@AutoConfigureMockMvc
+class RateLimitIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    NoteRepository noteRepository;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    PrincipalCache principalCache;
+
+    @BeforeEach
+    void setup() {
+        noteRepository.deleteAll();
+        userRepository.deleteAll();
+        principalCache.invalidateAll();
+    }
+
+    @Test
+    void search_shouldReturn429_perUser_afterBurst() throws Exception {
+        String token = tokenFor("limited@example.com");
+        String otherToken = tokenFor("other@example.com");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/notes/search").param("query", "x").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/notes/search").param("query", "x").header("Authorization", "Bearer " + token))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        // Otro usuario y otra clase de endpoint tienen su propio bucket
+        mockMvc.perform(get("/notes/search").param("query", "x").header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/notes").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void auth_shouldBeLimitedByClientIp() throws Exception {
+        String body = "{\"email\":\"nobody@example.com\",\"password\":\"password123\"}";
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/auth/login").with(remoteAddr("10.0.0.1"))
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isUnauthorized());
+        }
+        mockMvc.perform(post("/auth/login").with(remoteAddr("10.0.0.1"))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        mockMvc.perform(post("/auth/login").with(remoteAddr("10.0.0.2"))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String tokenFor(String email) {
+        return jwtService.generateToken(userRepository.save(new User("User", email, "password123")));
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -127,7 +127,7 @@ class UserControllerIntegrationTest {
 
         mockMvc.perform(get("/users/{id}", saved.getId()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(saved.getId()))
+                .andExpect(jsonPath("$.id").value(saved.getId().toString()))
                 .andExpect(jsonPath("$.name").value("Layla"))
                 .andExpect(jsonPath("$.email").value("layla@example.com"));
     }
@@ -153,7 +153,7 @@ class UserControllerIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(saved.getId()))
+                .andExpect(jsonPath("$.id").value(saved.getId().toString()))
                 .andExpect(jsonPath("$.name").value("New Name"))
                 .andExpect(jsonPath("$.email").value("new@example.com"));
     }